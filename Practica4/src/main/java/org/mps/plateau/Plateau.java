@@ -5,7 +5,11 @@ import org.mps.coverage.ExcludeGeneratedCodeFromCoverage;
 public class Plateau {
 
     @ExcludeGeneratedCodeFromCoverage
-    record Pair(int position, int length) {
+    public record Pair(int position, int length) {
+    }
+
+    @ExcludeGeneratedCodeFromCoverage
+    public record LongPair(long position, long length) {
     }
 
     @ExcludeGeneratedCodeFromCoverage
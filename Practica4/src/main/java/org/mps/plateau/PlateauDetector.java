@@ -0,0 +1,151 @@
+package org.mps.plateau;
+
+import java.util.Objects;
+
+/**
+ * Finds the longest plateau of a stream of samples that are accepted one at a time or in chunks, using
+ * constant memory and without copying them. Plateaus are defined and ranked as in
+ * {@link Plateau#longestPlateau(int[])}, with positions counted from the first sample ever accepted.
+ * <p>
+ * A plateau is only known once the smaller sample following it arrives, so the run of equal samples at
+ * the end of the stream so far is never reported. Unlike the array searches, fewer than 3 samples are
+ * not an error: there is just no plateau yet. Instances are not thread-safe.
+ * </p>
+ */
+public class PlateauDetector {
+
+    private static final PlateauListener NO_LISTENER = (position, length, longest) -> {
+    };
+
+    private final PlateauListener listener; // notified of every closed plateau
+    private long samples; // number of samples accepted so far
+    private int previous; // last sample accepted, if any
+    private long runStart; // position of the first sample of the current run of equal samples
+    private boolean rising; // whether the current run is preceded by a smaller sample
+    private long plateaus; // number of plateaus closed so far
+    private long longestPosition = -1; // position of the first longest plateau closed so far
+    private long longestLength; // length of the first longest plateau closed so far
+
+    /**
+     * Constructs a detector that has not seen any sample.
+     */
+    public PlateauDetector() {
+        listener = NO_LISTENER;
+    }
+
+    /**
+     * Constructs a detector that has not seen any sample and notifies the given listener of every
+     * plateau it closes.
+     *
+     * @param listener the listener notified of every plateau
+     * @throws IllegalArgumentException if the listener is null
+     */
+    public PlateauDetector(PlateauListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("The listener cannot be null");
+        }
+        this.listener = listener;
+    }
+
+    /**
+     * Accepts the next sample of the stream.
+     *
+     * @param x the sample
+     */
+    public void accept(int x) {
+        if (samples > 0) {
+            if (x > previous) {
+                runStart = samples;
+                rising = true;
+            } else if (x < previous) {
+                if (rising) {
+                    close();
+                }
+                runStart = samples;
+                rising = false;
+            }
+        }
+        previous = x;
+        samples++;
+    }
+
+    /**
+     * Accepts the next {@code len} samples of the stream, taken in order from
+     * {@code chunk[off..off+len-1]}.
+     *
+     * @param chunk the array holding the samples
+     * @param off   the position in the array of the first sample
+     * @param len   the number of samples
+     * @throws IllegalArgumentException  if the array is null
+     * @throws IndexOutOfBoundsException if the samples do not lie within the array
+     */
+    public void accept(int[] chunk, int off, int len) {
+        if (chunk == null) {
+            throw new IllegalArgumentException("The chunk cannot be null");
+        }
+        Objects.checkFromIndexSize(off, len, chunk.length);
+
+        for (int i = off; i < off + len; i++) {
+            accept(chunk[i]);
+        }
+    }
+
+    private void close() {
+        long length = samples - runStart;
+        boolean longest = length > longestLength;
+        if (longest) {
+            longestPosition = runStart;
+            longestLength = length;
+        }
+        plateaus++;
+        listener.plateauClosed(runStart, length, longest);
+    }
+
+    /**
+     * Returns the first longest plateau closed so far.
+     *
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws ArithmeticException if the position or the length of the plateau does not fit in an
+     *                             {@code int}
+     */
+    public Plateau.Pair longestPlateau() {
+        return new Plateau.Pair(Math.toIntExact(longestPosition), Math.toIntExact(longestLength));
+    }
+
+    /**
+     * Returns the position of the first longest plateau closed so far, or -1 if there is none.
+     *
+     * @return the position of the first sample of the longest plateau
+     */
+    public long longestPosition() {
+        return longestPosition;
+    }
+
+    /**
+     * Returns the length of the first longest plateau closed so far, or 0 if there is none.
+     *
+     * @return the number of samples of the longest plateau
+     */
+    public long longestLength() {
+        return longestLength;
+    }
+
+    /**
+     * Returns the number of samples accepted so far.
+     *
+     * @return the number of samples
+     */
+    public long samples() {
+        return samples;
+    }
+
+    /**
+     * Returns the number of plateaus closed so far.
+     *
+     * @return the number of plateaus
+     */
+    public long plateaus() {
+        return plateaus;
+    }
+}
@@ -0,0 +1,419 @@
+package org.mps.plateau;
+
+import org.mps.coverage.ExcludeGeneratedCodeFromCoverage;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Production version of {@link Plateau#longestPlateau(int[])}, with the same results and exceptions
+ * but meant for large arrays: it reads every element once, in a single loop that performs no I/O.
+ * Whoever needs to follow the search may pass a {@link PlateauTracer}, and arrays too large for a
+ * single thread can be searched in parallel.
+ * <p>
+ * Besides {@code int[]}, there are searches for the other primitive arrays that can be ordered and for
+ * {@link IntBuffer} and {@link LongBuffer} views, each with its own loop, so that no array has to be
+ * widened into an {@code int[]} copy and no element is boxed.
+ * </p>
+ */
+public final class PlateauEngine {
+
+    private static final String TOO_SHORT = "The array must have at least 3 elements";
+
+    @ExcludeGeneratedCodeFromCoverage
+    private PlateauEngine() {
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, exactly as
+     * {@link Plateau#longestPlateau(int[])} does.
+     *
+     * @param xs the array whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements
+     */
+    public static Plateau.Pair longestPlateau(int[] xs) {
+        checkLength(xs == null ? 0 : xs.length);
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, as
+     * {@link #longestPlateau(int[])} does for {@code int}s.
+     *
+     * @param xs the array whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements
+     */
+    public static Plateau.Pair longestPlateau(long[] xs) {
+        checkLength(xs == null ? 0 : xs.length);
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, as
+     * {@link #longestPlateau(int[])} does for {@code int}s. Elements are compared with the primitive
+     * operators, so {@code -0.0} and {@code 0.0} are equal.
+     * <p>
+     * A NaN is neither smaller nor greater than any element, so it breaks runs: it is never part of a
+     * plateau, a run followed by a NaN is not a plateau, and a run preceded by a NaN is not a plateau
+     * either.
+     * </p>
+     *
+     * @param xs the array whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements
+     */
+    public static Plateau.Pair longestPlateau(double[] xs) {
+        checkLength(xs == null ? 0 : xs.length);
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            } else if (xs[i] != xs[i - 1]) {
+                // one of them is NaN
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, as
+     * {@link #longestPlateau(int[])} does for {@code int}s.
+     *
+     * @param xs the array whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements
+     */
+    public static Plateau.Pair longestPlateau(short[] xs) {
+        checkLength(xs == null ? 0 : xs.length);
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, as
+     * {@link #longestPlateau(int[])} does for {@code int}s.
+     *
+     * @param xs the array whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements
+     */
+    public static Plateau.Pair longestPlateau(byte[] xs) {
+        checkLength(xs == null ? 0 : xs.length);
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, as
+     * {@link #longestPlateau(int[])} does for {@code int}s. Elements are compared with the primitive
+     * operators, so {@code -0.0f} and {@code 0.0f} are equal.
+     * <p>
+     * A NaN is neither smaller nor greater than any element, so it breaks runs: it is never part of a
+     * plateau, a run followed by a NaN is not a plateau, and a run preceded by a NaN is not a plateau
+     * either.
+     * </p>
+     *
+     * @param xs the array whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements
+     */
+    public static Plateau.Pair longestPlateau(float[] xs) {
+        checkLength(xs == null ? 0 : xs.length);
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            } else if (xs[i] != xs[i - 1]) {
+                // one of them is NaN
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, as
+     * {@link #longestPlateau(int[])} does for {@code int}s.
+     *
+     * @param xs the array whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements
+     */
+    public static Plateau.Pair longestPlateau(char[] xs) {
+        checkLength(xs == null ? 0 : xs.length);
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the remaining elements of the given
+     * buffer, from its position to its limit, as {@link #longestPlateau(int[])} does. Positions are
+     * counted from the position of the buffer, which is left unchanged.
+     *
+     * @param xs the buffer whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the buffer is null or has less than 3 remaining elements
+     */
+    public static Plateau.Pair longestPlateau(IntBuffer xs) {
+        checkLength(xs == null ? 0 : xs.remaining());
+
+        int from = xs.position();
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = from; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        int previous = xs.get(from);
+        for (int i = from + 1; i < xs.limit(); i++) {
+            int x = xs.get(i);
+            if (x > previous) {
+                runStart = i;
+                rising = true;
+            } else if (x < previous) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart - from;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+            previous = x;
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the remaining elements of the given
+     * buffer, from its position to its limit, as {@link #longestPlateau(long[])} does. Positions are
+     * counted from the position of the buffer, which is left unchanged.
+     *
+     * @param xs the buffer whose longest plateau is to be computed
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the buffer is null or has less than 3 remaining elements
+     */
+    public static Plateau.Pair longestPlateau(LongBuffer xs) {
+        checkLength(xs == null ? 0 : xs.remaining());
+
+        int from = xs.position();
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = from; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        long previous = xs.get(from);
+        for (int i = from + 1; i < xs.limit(); i++) {
+            long x = xs.get(i);
+            if (x > previous) {
+                runStart = i;
+                rising = true;
+            } else if (x < previous) {
+                if (rising && i - runStart > longestLength) {
+                    longestPos = runStart - from;
+                    longestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+            previous = x;
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array, and reports every
+     * plateau found to the given tracer.
+     *
+     * @param xs     the array whose longest plateau is to be computed
+     * @param tracer the tracer notified of every plateau
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements, or the tracer
+     *                                  is null
+     */
+    public static Plateau.Pair longestPlateau(int[] xs, PlateauTracer tracer) {
+        checkLength(xs == null ? 0 : xs.length);
+        if (tracer == null) {
+            throw new IllegalArgumentException("The tracer cannot be null");
+        }
+
+        int longestPos = -1;
+        int longestLength = 0;
+        int runStart = 0; // first position of the current run of equal elements
+        boolean rising = false; // whether the current run is preceded by a smaller element
+        for (int i = 1; i < xs.length; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising) {
+                    boolean longest = i - runStart > longestLength;
+                    if (longest) {
+                        longestPos = runStart;
+                        longestLength = i - runStart;
+                    }
+                    tracer.plateau(runStart, i - runStart, longest);
+                }
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new Plateau.Pair(longestPos, longestLength);
+    }
+
+    /**
+     * Computes the position and length of the longest plateau in the given array on the given
+     * fork-join pool, with the same result as {@link #longestPlateau(int[])}. The array is split in
+     * chunks that are summarised independently and then merged, so plateaus spanning several chunks
+     * are found too. The array must not be modified during the search.
+     *
+     * @param xs   the array whose longest plateau is to be computed
+     * @param pool the pool running the search
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the array is null or has less than 3 elements, or the pool
+     *                                  is null
+     */
+    public static Plateau.Pair longestPlateauParallel(int[] xs, ForkJoinPool pool) {
+        return longestPlateauParallel(xs, pool, PlateauSummaryTask.THRESHOLD);
+    }
+
+    static Plateau.Pair longestPlateauParallel(int[] xs, ForkJoinPool pool, int threshold) {
+        checkLength(xs == null ? 0 : xs.length);
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool cannot be null");
+        }
+
+        PlateauSummary summary = pool.invoke(new PlateauSummaryTask(xs, 0, xs.length, threshold));
+        return new Plateau.Pair((int) summary.bestPosition(), (int) summary.bestLength());
+    }
+
+    private static void checkLength(int length) {
+        if (length < 3) {
+            throw new IllegalArgumentException(TOO_SHORT);
+        }
+    }
+}
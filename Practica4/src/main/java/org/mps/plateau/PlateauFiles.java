@@ -0,0 +1,177 @@
+package org.mps.plateau;
+
+import org.mps.coverage.ExcludeGeneratedCodeFromCoverage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Longest plateau searches over files of raw little-endian {@code int32} samples, read through memory
+ * mappings instead of being loaded in an array. Files may be larger than 2 GB: they are mapped in
+ * windows of at most 256 MB, which are copied a small block at a time into a reusable array and
+ * scanned there. Positions are counted in samples from the start of the file.
+ * <p>
+ * The JDK offers no supported way to unmap a window, so a window is only released when the garbage
+ * collector reclaims it. Every window becomes unreachable as soon as it has been scanned, but until a
+ * collection runs, searching a file of several GB may keep most of it mapped: that only takes address
+ * space, not heap, but on some platforms, such as Windows, the file cannot be deleted or truncated
+ * meanwhile. The file must not be modified or truncated during the search.
+ * </p>
+ */
+public final class PlateauFiles {
+
+    static final long WINDOW_BYTES = 1 << 28;
+    private static final int BLOCK_SAMPLES = 1 << 14;
+
+    @ExcludeGeneratedCodeFromCoverage
+    private PlateauFiles() {
+    }
+
+    /**
+     * Computes the position and length of the longest plateau of the samples stored in the given
+     * file, reading it sequentially.
+     *
+     * @param file the file holding the samples
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the file is null, its size is not a multiple of 4 or it
+     *                                  holds less than 3 samples
+     * @throws IOException              if the file cannot be read
+     */
+    public static Plateau.LongPair longestPlateau(Path file) throws IOException {
+        return longestPlateau(file, WINDOW_BYTES);
+    }
+
+    static Plateau.LongPair longestPlateau(Path file, long windowBytes) throws IOException {
+        checkWindow(windowBytes);
+        try (FileChannel channel = open(file)) {
+            long size = checkSize(channel);
+            PlateauDetector detector = new PlateauDetector();
+            int[] block = new int[BLOCK_SAMPLES];
+            for (long start = 0; start < size; start += windowBytes) {
+                IntBuffer window = map(channel, start, Math.min(windowBytes, size - start));
+                while (window.hasRemaining()) {
+                    int length = Math.min(block.length, window.remaining());
+                    window.get(block, 0, length);
+                    detector.accept(block, 0, length);
+                }
+            }
+            return new Plateau.LongPair(detector.longestPosition(), detector.longestLength());
+        }
+    }
+
+    /**
+     * Computes the position and length of the longest plateau of the samples stored in the given
+     * file, with every window of the file summarised by a task of the given pool, as
+     * {@link PlateauEngine#longestPlateauParallel(int[], ForkJoinPool)} does with chunks of an array.
+     *
+     * @param file the file holding the samples
+     * @param pool the pool running the search
+     * @return the position and length of the first longest plateau, or position -1 and length 0 if
+     * there is none
+     * @throws IllegalArgumentException if the file or the pool is null, the size of the file is not a
+     *                                  multiple of 4 or it holds less than 3 samples
+     * @throws IOException              if the file cannot be read
+     */
+    public static Plateau.LongPair longestPlateauParallel(Path file, ForkJoinPool pool) throws IOException {
+        return longestPlateauParallel(file, pool, WINDOW_BYTES);
+    }
+
+    static Plateau.LongPair longestPlateauParallel(Path file, ForkJoinPool pool, long windowBytes) throws IOException {
+        if (pool == null) {
+            throw new IllegalArgumentException("The pool cannot be null");
+        }
+        checkWindow(windowBytes);
+        try (FileChannel channel = open(file)) {
+            long size = checkSize(channel);
+            long windows = (size + windowBytes - 1) / windowBytes;
+            PlateauSummary summary = pool.invoke(new WindowTask(channel, size, windowBytes, 0, windows));
+            return new Plateau.LongPair(summary.bestPosition(), summary.bestLength());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("The file cannot be null");
+        }
+        return FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    private static long checkSize(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size % Integer.BYTES != 0 || size < 3 * Integer.BYTES) {
+            throw new IllegalArgumentException("The file must hold at least 3 samples of 4 bytes");
+        }
+        return size;
+    }
+
+    // a window must hold whole samples and fit in a single mapping
+    private static void checkWindow(long windowBytes) {
+        if (windowBytes <= 0 || windowBytes % Integer.BYTES != 0 || windowBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The window must be a positive multiple of 4 bytes of at most 2 GB");
+        }
+    }
+
+    private static IntBuffer map(FileChannel channel, long start, long bytes) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, start, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Summarises the windows {@code [from, to)} of a file.
+     */
+    private static class WindowTask extends RecursiveTask<PlateauSummary> {
+
+        private final FileChannel channel;
+        private final long size;
+        private final long windowBytes;
+        private final long from;
+        private final long to;
+
+        WindowTask(FileChannel channel, long size, long windowBytes, long from, long to) {
+            this.channel = channel;
+            this.size = size;
+            this.windowBytes = windowBytes;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected PlateauSummary compute() {
+            if (to - from > 1) {
+                long middle = (from + to) >>> 1;
+                WindowTask left = new WindowTask(channel, size, windowBytes, from, middle);
+                left.fork();
+                PlateauSummary right = new WindowTask(channel, size, windowBytes, middle, to).compute();
+                return PlateauSummary.merge(left.join(), right);
+            }
+
+            long start = from * windowBytes;
+            IntBuffer window;
+            try {
+                window = map(channel, start, Math.min(windowBytes, size - start));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            long offset = start / Integer.BYTES;
+            int[] block = new int[Math.min(BLOCK_SAMPLES, window.remaining())];
+            PlateauSummary summary = null;
+            while (window.hasRemaining()) {
+                int length = Math.min(block.length, window.remaining());
+                window.get(block, 0, length);
+                PlateauSummary next = PlateauSummary.of(block, 0, length).shift(offset);
+                summary = summary == null ? next : PlateauSummary.merge(summary, next);
+                offset += length;
+            }
+            return summary;
+        }
+    }
+}
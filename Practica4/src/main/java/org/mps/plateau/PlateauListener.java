@@ -0,0 +1,18 @@
+package org.mps.plateau;
+
+/**
+ * Observes the plateaus closed by a {@link PlateauDetector}, in the order they appear in the stream.
+ * Positions and lengths are {@code long}s because a stream may outgrow an array.
+ */
+@FunctionalInterface
+public interface PlateauListener {
+
+    /**
+     * Called once for every plateau, as soon as the sample following it is accepted.
+     *
+     * @param position the position in the stream of the first sample of the plateau
+     * @param length   the number of samples of the plateau
+     * @param longest  whether the plateau is longer than every plateau closed before it
+     */
+    void plateauClosed(long position, long length, boolean longest);
+}
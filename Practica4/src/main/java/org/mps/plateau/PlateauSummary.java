@@ -0,0 +1,132 @@
+package org.mps.plateau;
+
+/**
+ * What the longest plateau search needs to know about a chunk {@code [from, to)} of an array to combine
+ * it with its neighbours, without looking at its elements again.
+ * <p>
+ * A chunk is a sequence of runs of equal elements. Its first and last runs may continue into the
+ * neighbouring chunks and lack one of the elements that decide whether they are plateaus, so they are
+ * kept apart: the leading run through its length and whether the element after it is smaller, and the
+ * trailing run through its start and whether the element before it is smaller. Every other run is
+ * enclosed in the chunk, and the first longest plateau among them is kept in {@code bestPosition} and
+ * {@code bestLength}. When the whole chunk is a single run, it is both the leading and the trailing
+ * run, and {@code leadFalling} and {@code trailRising} are meaningless.
+ * </p>
+ * <p>
+ * {@link #merge(PlateauSummary, PlateauSummary)} is associative, so chunks can be combined in any
+ * grouping as long as they stay in order, and the summary of the whole array holds its longest plateau.
+ * </p>
+ */
+record PlateauSummary(long from, long to, int first, int last,
+                      long leadLength, boolean leadFalling,
+                      long trailStart, boolean trailRising,
+                      long bestPosition, long bestLength) {
+
+    /**
+     * Scans the chunk {@code [from, to)} of the given array, which must not be empty. Positions are
+     * those of the array; see {@link #shift(long)} for chunks of longer sequences.
+     */
+    static PlateauSummary of(int[] xs, int from, int to) {
+        int leadEnd = from; // last position of the leading run
+        while (leadEnd + 1 < to && xs[leadEnd + 1] == xs[leadEnd]) {
+            leadEnd++;
+        }
+        if (leadEnd == to - 1) {
+            return new PlateauSummary(from, to, xs[from], xs[to - 1], to - from, false, from, false, -1, 0);
+        }
+
+        int bestPosition = -1;
+        int bestLength = 0;
+        int runStart = leadEnd + 1;
+        boolean rising = xs[runStart] > xs[leadEnd];
+        for (int i = runStart + 1; i < to; i++) {
+            if (xs[i] > xs[i - 1]) {
+                runStart = i;
+                rising = true;
+            } else if (xs[i] < xs[i - 1]) {
+                if (rising && i - runStart > bestLength) {
+                    bestPosition = runStart;
+                    bestLength = i - runStart;
+                }
+                runStart = i;
+                rising = false;
+            }
+        }
+        return new PlateauSummary(from, to, xs[from], xs[to - 1], leadEnd - from + 1, xs[leadEnd + 1] < xs[leadEnd],
+                runStart, rising, bestPosition, bestLength);
+    }
+
+    /**
+     * Combines the summaries of two adjacent chunks, {@code left} coming right before {@code right}.
+     */
+    static PlateauSummary merge(PlateauSummary left, PlateauSummary right) {
+        long bestPosition = left.bestPosition;
+        long bestLength = left.bestLength;
+
+        // the runs meeting at the boundary now know both of their neighbours, unless they span a whole chunk;
+        // they all lie between the enclosed plateaus of left and those of right
+        long position = -1;
+        long length = 0;
+        if (left.last == right.first) {
+            if (!left.single() && !right.single() && left.trailRising && right.leadFalling) {
+                position = left.trailStart;
+                length = right.from + right.leadLength - left.trailStart;
+            }
+        } else if (left.last < right.first) {
+            if (!right.single() && right.leadFalling) {
+                position = right.from;
+                length = right.leadLength;
+            }
+        } else if (!left.single() && left.trailRising) {
+            position = left.trailStart;
+            length = left.to - left.trailStart;
+        }
+        if (length > bestLength) {
+            bestPosition = position;
+            bestLength = length;
+        }
+        if (right.bestLength > bestLength) {
+            bestPosition = right.bestPosition;
+            bestLength = right.bestLength;
+        }
+
+        long leadLength = left.leadLength;
+        boolean leadFalling = left.leadFalling;
+        if (left.single()) {
+            if (left.last == right.first) {
+                leadLength += right.leadLength;
+                leadFalling = right.leadFalling;
+            } else {
+                leadFalling = left.last > right.first;
+            }
+        }
+        long trailStart = right.trailStart;
+        boolean trailRising = right.trailRising;
+        if (right.single()) {
+            if (left.last == right.first) {
+                trailStart = left.trailStart;
+                trailRising = left.trailRising;
+            } else {
+                trailRising = left.last < right.first;
+            }
+        }
+        return new PlateauSummary(left.from, right.to, left.first, right.last, leadLength, leadFalling,
+                trailStart, trailRising, bestPosition, bestLength);
+    }
+
+    /**
+     * Moves the chunk {@code offset} positions to the right, as when an array holds the samples of a
+     * longer sequence starting at position {@code offset}.
+     */
+    PlateauSummary shift(long offset) {
+        return new PlateauSummary(from + offset, to + offset, first, last, leadLength, leadFalling,
+                trailStart + offset, trailRising, bestLength > 0 ? bestPosition + offset : -1, bestLength);
+    }
+
+    /**
+     * Whether the whole chunk is a single run of equal elements.
+     */
+    boolean single() {
+        return leadLength == to - from;
+    }
+}
@@ -0,0 +1,36 @@
+package org.mps.plateau;
+
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Summarises a chunk {@code [from, to)} of an array, splitting it in halves on the fork-join pool
+ * while it is longer than the threshold.
+ */
+class PlateauSummaryTask extends RecursiveTask<PlateauSummary> {
+
+    static final int THRESHOLD = 1 << 16;
+
+    private final int[] xs;
+    private final int from;
+    private final int to;
+    private final int threshold;
+
+    PlateauSummaryTask(int[] xs, int from, int to, int threshold) {
+        this.xs = xs;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected PlateauSummary compute() {
+        if (to - from <= threshold) {
+            return PlateauSummary.of(xs, from, to);
+        }
+        int middle = (from + to) >>> 1;
+        PlateauSummaryTask left = new PlateauSummaryTask(xs, from, middle, threshold);
+        left.fork();
+        PlateauSummary right = new PlateauSummaryTask(xs, middle, to, threshold).compute();
+        return PlateauSummary.merge(left.join(), right);
+    }
+}
@@ -0,0 +1,19 @@
+package org.mps.plateau;
+
+/**
+ * Observes the plateaus found by {@link PlateauEngine#longestPlateau(int[], PlateauTracer)}, in the
+ * order they appear in the array. It replaces the unconditional console output of
+ * {@link Plateau#longestPlateau(int[])}: nothing is reported unless a tracer is given.
+ */
+@FunctionalInterface
+public interface PlateauTracer {
+
+    /**
+     * Called once for every plateau of the array, whether it turns out to be the longest or not.
+     *
+     * @param position the position of the first element of the plateau
+     * @param length   the number of elements of the plateau
+     * @param longest  whether the plateau is longer than every plateau reported before it
+     */
+    void plateau(int position, int length, boolean longest);
+}
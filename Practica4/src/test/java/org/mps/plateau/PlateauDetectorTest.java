@@ -0,0 +1,91 @@
+package org.mps.plateau;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Engine")
+class PlateauDetectorTest {
+    private PlateauDetector detector;
+
+    @Test
+    @DisplayName("Given a new detector, when asking for the longest plateau then position -1 and length 0 are returned.")
+    void noSamples() {
+        detector = new PlateauDetector();
+
+        assertEquals(new Plateau.Pair(-1, 0), detector.longestPlateau());
+        assertEquals(0, detector.samples());
+        assertEquals(0, detector.plateaus());
+    }
+
+    @Test
+    @DisplayName("Given the samples 1 0 4 4 4 0 7 8 0 2 2 2 accepted one at a time, when asking for the longest plateau " +
+            "then position 2 and length 3 are returned, and the unclosed run at the end is not counted.")
+    void singleSamples() {
+        detector = new PlateauDetector();
+
+        for (int x : new int[]{1, 0, 4, 4, 4, 0, 7, 8, 0, 2, 2, 2}) {
+            detector.accept(x);
+        }
+
+        assertEquals(new Plateau.Pair(2, 3), detector.longestPlateau());
+        assertEquals(12, detector.samples());
+        assertEquals(2, detector.plateaus());
+    }
+
+    @Test
+    @DisplayName("Given a listener, when a plateau spanning two chunks is closed " +
+            "then the listener is called with its absolute position.")
+    void listenerAcrossChunks() {
+        List<String> events = new ArrayList<>();
+        detector = new PlateauDetector((position, length, longest) -> events.add(position + ":" + length + ":" + longest));
+
+        detector.accept(new int[]{9, 0, 2, 2, 1, 3, 3}, 1, 6);
+        assertEquals(List.of("1:2:true"), events);
+        detector.accept(new int[]{3, 0, 3, 0}, 0, 4);
+
+        assertEquals(List.of("1:2:true", "4:3:true", "8:1:false"), events);
+        assertEquals(new Plateau.Pair(4, 3), detector.longestPlateau());
+    }
+
+    @Test
+    @DisplayName("Given random arrays fed in random chunks, when asking for the longest plateau " +
+            "then the result is the same as the one of PlateauEngine.longestPlateau().")
+    void sameResultAsEngine() {
+        Random random = new Random(42);
+        for (int n = 0; n < 1000; n++) {
+            int[] array = random.ints(3 + random.nextInt(100), 0, 4).toArray();
+            detector = new PlateauDetector();
+
+            int off = 0;
+            while (off < array.length) {
+                int len = Math.min(array.length - off, random.nextInt(10));
+                detector.accept(array, off, len);
+                off += len;
+            }
+
+            assertEquals(PlateauEngine.longestPlateau(array), detector.longestPlateau());
+        }
+    }
+
+    @Test
+    @DisplayName("Given a null chunk or a chunk out of bounds, when calling accept() then an exception is thrown.")
+    void invalidChunk() {
+        detector = new PlateauDetector();
+
+        assertThrows(IllegalArgumentException.class, () -> detector.accept(null, 0, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> detector.accept(new int[3], 2, 2));
+    }
+
+    @Test
+    @DisplayName("Given a null listener, when constructing a detector then an IllegalArgumentException is thrown.")
+    void nullListener() {
+        assertThrows(IllegalArgumentException.class, () -> new PlateauDetector(null));
+    }
+}
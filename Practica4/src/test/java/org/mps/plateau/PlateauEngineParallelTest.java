@@ -0,0 +1,95 @@
+package org.mps.plateau;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Engine")
+class PlateauEngineParallelTest {
+    private ForkJoinPool pool;
+    private Random random;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        random = new Random(42);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    @DisplayName("Given a null pool, when calling longestPlateauParallel() then an IllegalArgumentException is thrown.")
+    void nullPool() {
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateauParallel(new int[]{0, 1, 0}, null));
+    }
+
+    @Test
+    @DisplayName("Given an array with less than 3 elements, when calling longestPlateauParallel() then an IllegalArgumentException is thrown.")
+    void smallArray() {
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateauParallel(new int[]{0, 1}, pool));
+    }
+
+    @Test
+    @DisplayName("Given random arrays split in chunks of 1 to 8 elements, when calling longestPlateauParallel() " +
+            "then the result is the same as the one of the sequential search.")
+    void sameResultAsSequential() {
+        for (int n = 0; n < 2000; n++) {
+            int[] array = random.ints(3 + random.nextInt(200), 0, 1 + random.nextInt(4)).toArray();
+            int threshold = 1 + random.nextInt(8);
+
+            assertEquals(PlateauEngine.longestPlateau(array), PlateauEngine.longestPlateauParallel(array, pool, threshold),
+                    () -> Arrays.toString(array) + " in chunks of " + threshold);
+        }
+    }
+
+    @Test
+    @DisplayName("Given random arrays cut in random chunks, when merging their summaries from the left and from the right " +
+            "then both give the summary of the whole array.")
+    void mergeIsAssociative() {
+        for (int n = 0; n < 1000; n++) {
+            int[] array = random.ints(3 + random.nextInt(60), 0, 3).toArray();
+            int[] cuts = random.ints(random.nextInt(8), 1, array.length).sorted().distinct().toArray();
+            PlateauSummary[] chunks = new PlateauSummary[cuts.length + 1];
+            for (int i = 0; i < chunks.length; i++) {
+                chunks[i] = PlateauSummary.of(array, i == 0 ? 0 : cuts[i - 1], i == cuts.length ? array.length : cuts[i]);
+            }
+
+            PlateauSummary fromLeft = chunks[0];
+            for (int i = 1; i < chunks.length; i++) {
+                fromLeft = PlateauSummary.merge(fromLeft, chunks[i]);
+            }
+            PlateauSummary fromRight = chunks[chunks.length - 1];
+            for (int i = chunks.length - 2; i >= 0; i--) {
+                fromRight = PlateauSummary.merge(chunks[i], fromRight);
+            }
+
+            PlateauSummary whole = PlateauSummary.of(array, 0, array.length);
+            assertEquals(whole, fromLeft, () -> Arrays.toString(array) + " cut at " + Arrays.toString(cuts));
+            assertEquals(whole, fromRight, () -> Arrays.toString(array) + " cut at " + Arrays.toString(cuts));
+        }
+    }
+
+    @Test
+    @DisplayName("Given a large array whose longest plateau spans several default chunks, " +
+            "when calling longestPlateauParallel() then that plateau is returned.")
+    void plateauSpanningChunks() {
+        int[] array = new int[1 << 20];
+        array[10] = 1;
+        int position = PlateauSummaryTask.THRESHOLD - 5;
+        int length = 3 * PlateauSummaryTask.THRESHOLD;
+        Arrays.fill(array, position, position + length, 7);
+
+        assertEquals(new Plateau.Pair(position, length), PlateauEngine.longestPlateauParallel(array, pool));
+    }
+}
@@ -0,0 +1,90 @@
+package org.mps.plateau;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Engine")
+class PlateauEnginePrimitiveTest {
+    private final Random random = new Random(42);
+
+    @Test
+    @DisplayName("Given random arrays of every primitive type holding the same values as an int[], " +
+            "when calling longestPlateau() then every result is the same as the one of the int[].")
+    void sameResultAsIntArray() {
+        for (int n = 0; n < 1000; n++) {
+            int[] ints = random.ints(3 + random.nextInt(50), 0, 4).toArray();
+            long[] longs = new long[ints.length];
+            double[] doubles = new double[ints.length];
+            float[] floats = new float[ints.length];
+            short[] shorts = new short[ints.length];
+            byte[] bytes = new byte[ints.length];
+            char[] chars = new char[ints.length];
+            for (int i = 0; i < ints.length; i++) {
+                longs[i] = ints[i];
+                doubles[i] = ints[i];
+                floats[i] = ints[i];
+                shorts[i] = (short) ints[i];
+                bytes[i] = (byte) ints[i];
+                chars[i] = (char) ints[i];
+            }
+
+            Plateau.Pair expected = PlateauEngine.longestPlateau(ints);
+            assertEquals(expected, PlateauEngine.longestPlateau(longs));
+            assertEquals(expected, PlateauEngine.longestPlateau(doubles));
+            assertEquals(expected, PlateauEngine.longestPlateau(floats));
+            assertEquals(expected, PlateauEngine.longestPlateau(shorts));
+            assertEquals(expected, PlateauEngine.longestPlateau(bytes));
+            assertEquals(expected, PlateauEngine.longestPlateau(chars));
+            assertEquals(expected, PlateauEngine.longestPlateau(IntBuffer.wrap(ints)));
+            assertEquals(expected, PlateauEngine.longestPlateau(LongBuffer.wrap(longs)));
+        }
+    }
+
+    @Test
+    @DisplayName("Given values that do not fit in an int, when calling longestPlateau() " +
+            "then they are compared without losing precision.")
+    void valuesOutsideIntRange() {
+        long big = 1L << 40;
+        assertEquals(new Plateau.Pair(1, 2), PlateauEngine.longestPlateau(new long[]{big, big + 1, big + 1, big}));
+        assertEquals(new Plateau.Pair(2, 1), PlateauEngine.longestPlateau(new double[]{0.5, 0.7, Math.nextUp(0.7), 0.5}));
+    }
+
+    @Test
+    @DisplayName("Given double arrays with NaN, when calling longestPlateau() " +
+            "then NaN is never part of a plateau and breaks the runs next to it.")
+    void nanBreaksRuns() {
+        double nan = Double.NaN;
+
+        assertEquals(new Plateau.Pair(-1, 0), PlateauEngine.longestPlateau(new double[]{0, nan, 0}));
+        assertEquals(new Plateau.Pair(-1, 0), PlateauEngine.longestPlateau(new double[]{0, 1, 1, nan, 0}));
+        assertEquals(new Plateau.Pair(-1, 0), PlateauEngine.longestPlateau(new double[]{0, nan, 1, 1, 0}));
+        assertEquals(new Plateau.Pair(4, 1), PlateauEngine.longestPlateau(new double[]{0, 1, nan, 0, 2, 0}));
+        assertEquals(new Plateau.Pair(2, 2), PlateauEngine.longestPlateau(new float[]{Float.NaN, 0, 3, 3, 1}));
+    }
+
+    @Test
+    @DisplayName("Given a buffer whose position is not 0, when calling longestPlateau() " +
+            "then positions are counted from the buffer position, which is left unchanged.")
+    void bufferPosition() {
+        IntBuffer buffer = IntBuffer.wrap(new int[]{9, 9, 0, 5, 5, 0, 7});
+        buffer.position(2).limit(6);
+
+        assertEquals(new Plateau.Pair(1, 2), PlateauEngine.longestPlateau(buffer));
+        assertEquals(2, buffer.position());
+    }
+
+    @Test
+    @DisplayName("Given null or short arrays and buffers, when calling longestPlateau() then an IllegalArgumentException is thrown.")
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateau((double[]) null));
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateau(new byte[2]));
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateau(LongBuffer.allocate(5).position(3)));
+    }
+}
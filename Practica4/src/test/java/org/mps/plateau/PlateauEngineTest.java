@@ -0,0 +1,102 @@
+package org.mps.plateau;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Engine")
+class PlateauEngineTest {
+    private int[] array;
+
+    @Test
+    @DisplayName("Given a null array, when calling longestPlateau() then an IllegalArgumentException is thrown.")
+    void nullArray() {
+        array = null;
+
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateau(array));
+    }
+
+    @Test
+    @DisplayName("Given an array with less than 3 elements, when calling longestPlateau() then an IllegalArgumentException is thrown.")
+    void smallArray() {
+        array = new int[]{1, 2};
+
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateau(array));
+    }
+
+    @Test
+    @DisplayName("Given the array [1 0 4 4 4 0 7 8 0 2 2 2] with an \"unclosed\" plateau at the end, " +
+            "when calling longestPlateau() then the first plateau (position 2 and length 3) is returned.")
+    void unclosedPlateauAtTheEnd() {
+        array = new int[]{1, 0, 4, 4, 4, 0, 7, 8, 0, 2, 2, 2};
+
+        assertEquals(new Plateau.Pair(2, 3), PlateauEngine.longestPlateau(array));
+    }
+
+    @Test
+    @DisplayName("Given the array [5 5 5 4 3 3 3 3] with equal runs that are not plateaus, " +
+            "when calling longestPlateau() then position -1 and length 0 are returned.")
+    void noPlateau() {
+        array = new int[]{5, 5, 5, 4, 3, 3, 3, 3};
+
+        assertEquals(new Plateau.Pair(-1, 0), PlateauEngine.longestPlateau(array));
+    }
+
+    @Test
+    @DisplayName("Given the array [0 2 2 1 3 3 1 5 5 5 0] with three plateaus, " +
+            "when calling longestPlateau() then the longest one (position 7 and length 3) is returned.")
+    void longestPlateauWins() {
+        array = new int[]{0, 2, 2, 1, 3, 3, 1, 5, 5, 5, 0};
+
+        assertEquals(new Plateau.Pair(7, 3), PlateauEngine.longestPlateau(array));
+    }
+
+    @Test
+    @DisplayName("Given the array [0 2 2 1 3 3 1] with two plateaus of the same length, " +
+            "when calling longestPlateau() then the first one (position 1 and length 2) is returned.")
+    void firstOfEqualPlateausWins() {
+        array = new int[]{0, 2, 2, 1, 3, 3, 1};
+
+        assertEquals(new Plateau.Pair(1, 2), PlateauEngine.longestPlateau(array));
+    }
+
+    @Test
+    @DisplayName("Given random arrays of small values, when calling longestPlateau() " +
+            "then the result is the same as the one of Plateau.longestPlateau().")
+    void sameResultAsPlateau() {
+        Random random = new Random(42);
+        for (int n = 0; n < 500; n++) {
+            array = random.ints(3 + random.nextInt(30), 0, 4).toArray();
+
+            assertEquals(Plateau.longestPlateau(array), PlateauEngine.longestPlateau(array));
+        }
+    }
+
+    @Test
+    @DisplayName("Given the array [0 2 2 1 3 1 5 5 5 0] and a tracer, when calling longestPlateau() " +
+            "then every plateau is reported in order, marking those longer than the previous ones.")
+    void tracerReportsEveryPlateau() {
+        array = new int[]{0, 2, 2, 1, 3, 1, 5, 5, 5, 0};
+        List<String> events = new ArrayList<>();
+
+        Plateau.Pair result = PlateauEngine.longestPlateau(array,
+                (position, length, longest) -> events.add(position + ":" + length + ":" + longest));
+
+        assertEquals(new Plateau.Pair(6, 3), result);
+        assertEquals(List.of("1:2:true", "4:1:false", "6:3:true"), events);
+    }
+
+    @Test
+    @DisplayName("Given a null tracer, when calling longestPlateau() then an IllegalArgumentException is thrown.")
+    void nullTracer() {
+        array = new int[]{0, 1, 0};
+
+        assertThrows(IllegalArgumentException.class, () -> PlateauEngine.longestPlateau(array, null));
+    }
+}
@@ -0,0 +1,121 @@
+package org.mps.plateau;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Tag("Engine")
+class PlateauFilesTest {
+    @TempDir
+    Path directory;
+    private Path file;
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    void setUp() {
+        file = directory.resolve("samples.bin");
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    private void write(int... samples) throws IOException {
+        ByteBuffer bytes = ByteBuffer.allocate(samples.length * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asIntBuffer().put(samples);
+        Files.write(file, bytes.array());
+    }
+
+    private static Plateau.LongPair toLong(Plateau.Pair pair) {
+        return new Plateau.LongPair(pair.position(), pair.length());
+    }
+
+    @Test
+    @DisplayName("Given a file holding 1 0 4 4 4 0 7 8 0 2 2 2, when calling longestPlateau() " +
+            "then position 2 and length 3 are returned, sequentially and in parallel.")
+    void smallFile() throws IOException {
+        write(1, 0, 4, 4, 4, 0, 7, 8, 0, 2, 2, 2);
+
+        assertEquals(new Plateau.LongPair(2, 3), PlateauFiles.longestPlateau(file));
+        assertEquals(new Plateau.LongPair(2, 3), PlateauFiles.longestPlateauParallel(file, pool));
+    }
+
+    @Test
+    @DisplayName("Given a file holding little-endian samples, when calling longestPlateau() " +
+            "then the bytes are read in little-endian order.")
+    void littleEndian() throws IOException {
+        // read as big-endian, 0x100 would be smaller than 1 and the plateau would be the 1
+        write(0, 0x100, 0x100, 1, 0);
+
+        assertEquals(new Plateau.LongPair(1, 2), PlateauFiles.longestPlateau(file));
+    }
+
+    @Test
+    @DisplayName("Given random files mapped in small windows, when calling longestPlateau() and longestPlateauParallel() " +
+            "then the result is the same as the one of PlateauEngine.longestPlateau() on the samples.")
+    void sameResultAsEngine() throws IOException {
+        Random random = new Random(42);
+        for (int n = 0; n < 200; n++) {
+            int[] samples = random.ints(3 + random.nextInt(300), 0, 3).toArray();
+            write(samples);
+            long windowBytes = Integer.BYTES * (1 + random.nextInt(40));
+
+            Plateau.LongPair expected = toLong(PlateauEngine.longestPlateau(samples));
+            assertEquals(expected, PlateauFiles.longestPlateau(file, windowBytes));
+            assertEquals(expected, PlateauFiles.longestPlateauParallel(file, pool, windowBytes));
+        }
+    }
+
+    @Test
+    @DisplayName("Given a file whose size is not a multiple of 4 or holding less than 3 samples, " +
+            "when calling longestPlateau() then an IllegalArgumentException is thrown.")
+    void invalidSize() throws IOException {
+        Files.write(file, new byte[13]);
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateau(file));
+
+        write(1, 2);
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateauParallel(file, pool));
+    }
+
+    @Test
+    @DisplayName("Given a window that is not a positive multiple of 4 bytes, " +
+            "when calling longestPlateau() or longestPlateauParallel() then an IllegalArgumentException is thrown.")
+    void invalidWindow() throws IOException {
+        write(0, 1, 1, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateau(file, 6));
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateau(file, 0));
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateauParallel(file, pool, 5));
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateauParallel(file, pool, -4));
+    }
+
+    @Test
+    @DisplayName("Given a missing file, when calling longestPlateau() then an IOException is thrown.")
+    void missingFile() {
+        assertThrows(IOException.class, () -> PlateauFiles.longestPlateau(directory.resolve("missing.bin")));
+    }
+
+    @Test
+    @DisplayName("Given a null file or pool, when calling longestPlateauParallel() then an IllegalArgumentException is thrown.")
+    void nullArguments() throws IOException {
+        write(0, 1, 0);
+
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateauParallel(null, pool));
+        assertThrows(IllegalArgumentException.class, () -> PlateauFiles.longestPlateauParallel(file, null));
+    }
+}
@@ -0,0 +1,101 @@
+package org.mps.boundedqueue.benchmarks;
+
+import org.mps.boundedqueue.ArrayBoundedQueue;
+import org.mps.boundedqueue.BoundedQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single-threaded costs of {@link ArrayBoundedQueue} at several capacities: a put/get pair on a half
+ * full queue, a traversal of a full queue, and a whole fill/drain cycle.
+ * <p>
+ * The {@code variant} compares three ways of stepping through the buffer: the compare-and-wrap of
+ * {@link ArrayBoundedQueue}; the {@code %} of {@link ModuloArrayBoundedQueue}, the baseline; and the
+ * mask over ever-increasing sequences of {@link ArrayBoundedQueue#withPowerOfTwoCapacity(int)}.
+ * Capacities that are not powers of two show the cost of the rounded-up buffer.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ArrayBoundedQueueBenchmark {
+
+    @Param({"array", "modulo", "powerOfTwo"})
+    String variant;
+
+    @Param({"16", "1000", "1024", "65536", "1048576"})
+    int capacity;
+
+    private BoundedQueue<Integer> halfFull;
+    private BoundedQueue<Integer> full;
+    private BoundedQueue<Integer> empty;
+    private Integer[] values;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        values = new Integer[capacity];
+        for (int i = 0; i < capacity; i++) {
+            values[i] = i;
+        }
+
+        halfFull = create();
+        for (int i = 0; i < Math.max(1, capacity / 2); i++) {
+            halfFull.put(values[i]);
+        }
+        full = create();
+        for (Integer value : values) {
+            full.put(value);
+        }
+        empty = create();
+    }
+
+    private BoundedQueue<Integer> create() {
+        switch (variant) {
+            case "modulo":
+                return new ModuloArrayBoundedQueue<>(capacity);
+            case "powerOfTwo":
+                return ArrayBoundedQueue.withPowerOfTwoCapacity(capacity);
+            default:
+                return new ArrayBoundedQueue<>(capacity);
+        }
+    }
+
+    @Benchmark
+    public Integer putGetPair() {
+        halfFull.put(values[0]);
+        return halfFull.get();
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (Integer value : full) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void fillDrain(Blackhole blackhole) {
+        for (Integer value : values) {
+            empty.put(value);
+        }
+        while (!empty.isEmpty()) {
+            blackhole.consume(empty.get());
+        }
+    }
+}
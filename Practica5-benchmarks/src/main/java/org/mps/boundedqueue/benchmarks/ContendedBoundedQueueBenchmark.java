@@ -0,0 +1,172 @@
+package org.mps.boundedqueue.benchmarks;
+
+import org.mps.boundedqueue.ArrayBoundedQueue;
+import org.mps.boundedqueue.MpmcArrayBoundedQueue;
+import org.mps.boundedqueue.SpscArrayBoundedQueue;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of producer and consumer threads sharing a bounded queue, with an
+ * {@link ArrayBoundedQueue} guarded by {@code synchronized} as the baseline. Producers and consumers
+ * never throw: a failed attempt on a full or empty queue just counts as an operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ContendedBoundedQueueBenchmark {
+
+    private static final Integer VALUE = 42;
+
+    /**
+     * Non-throwing access to the queue under test.
+     */
+    interface QueueAdapter {
+        boolean offer(Integer value);
+
+        Integer poll();
+    }
+
+    static QueueAdapter create(String implementation, int capacity) {
+        switch (implementation) {
+            case "synchronized":
+                return new SynchronizedAdapter(new ArrayBoundedQueue<>(capacity));
+            case "spsc": {
+                // single producer and single consumer, so checking before acting is safe
+                SpscArrayBoundedQueue<Integer> queue = new SpscArrayBoundedQueue<>(capacity);
+                return new QueueAdapter() {
+                    @Override
+                    public boolean offer(Integer value) {
+                        if (queue.isFull()) {
+                            return false;
+                        }
+                        queue.put(value);
+                        return true;
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.isEmpty() ? null : queue.get();
+                    }
+                };
+            }
+            case "mpmc": {
+                MpmcArrayBoundedQueue<Integer> queue = new MpmcArrayBoundedQueue<>(capacity);
+                return new QueueAdapter() {
+                    @Override
+                    public boolean offer(Integer value) {
+                        return queue.offer(value);
+                    }
+
+                    @Override
+                    public Integer poll() {
+                        return queue.poll();
+                    }
+                };
+            }
+            default:
+                throw new IllegalArgumentException("create: unknown implementation " + implementation);
+        }
+    }
+
+    private static final class SynchronizedAdapter implements QueueAdapter {
+
+        private final ArrayBoundedQueue<Integer> queue;
+
+        SynchronizedAdapter(ArrayBoundedQueue<Integer> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public synchronized boolean offer(Integer value) {
+            if (queue.isFull()) {
+                return false;
+            }
+            queue.put(value);
+            return true;
+        }
+
+        @Override
+        public synchronized Integer poll() {
+            return queue.isEmpty() ? null : queue.get();
+        }
+    }
+
+    @State(Scope.Group)
+    public static class OneToOne {
+
+        @Param({"synchronized", "spsc", "mpmc"})
+        String implementation;
+
+        @Param({"1024"})
+        int capacity;
+
+        QueueAdapter queue;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            queue = create(implementation, capacity);
+        }
+    }
+
+    @State(Scope.Group)
+    public static class ManyToMany {
+
+        @Param({"synchronized", "mpmc"})
+        String implementation;
+
+        @Param({"1024"})
+        int capacity;
+
+        QueueAdapter queue;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            queue = create(implementation, capacity);
+        }
+    }
+
+    @Benchmark
+    @Group("oneProducerOneConsumer")
+    @GroupThreads(1)
+    public boolean oneToOneOffer(OneToOne state) {
+        return state.queue.offer(VALUE);
+    }
+
+    @Benchmark
+    @Group("oneProducerOneConsumer")
+    @GroupThreads(1)
+    public Integer oneToOnePoll(OneToOne state) {
+        return state.queue.poll();
+    }
+
+    @Benchmark
+    @Group("manyProducersManyConsumers")
+    @GroupThreads(4)
+    public boolean manyToManyOffer(ManyToMany state) {
+        return state.queue.offer(VALUE);
+    }
+
+    @Benchmark
+    @Group("manyProducersManyConsumers")
+    @GroupThreads(4)
+    public Integer manyToManyPoll(ManyToMany state) {
+        return state.queue.poll();
+    }
+}
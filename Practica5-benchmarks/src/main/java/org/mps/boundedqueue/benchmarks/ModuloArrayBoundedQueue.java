@@ -0,0 +1,98 @@
+package org.mps.boundedqueue.benchmarks;
+
+import org.mps.boundedqueue.BoundedQueue;
+import org.mps.boundedqueue.EmptyBoundedQueueException;
+import org.mps.boundedqueue.FullBoundedQueueException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The array bounded queue as it was before its indexes were wrapped with a compare: the same
+ * representation and checks, but every step computes {@code (index + 1) % buffer.length}. It only
+ * exists as the baseline of {@link ArrayBoundedQueueBenchmark}.
+ *
+ * @param <T> the type of elements held in this bounded queue
+ */
+final class ModuloArrayBoundedQueue<T> implements BoundedQueue<T> {
+
+    private final T[] buffer; // stores the elements of the bounded queue
+    private int first; // index of the position in buffer that stores the first element
+    private int nextFree; // index of the first position available in buffer
+    private int size; // number of elements in the bounded queue
+
+    @SuppressWarnings("unchecked")
+    ModuloArrayBoundedQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("ModuloArrayBoundedQueue: capacity must be positive");
+        }
+
+        buffer = (T[]) new Object[capacity];
+    }
+
+    @Override
+    public void put(T value) {
+        if (isFull()) {
+            throw new FullBoundedQueueException("put: full bounded queue");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("put: element cannot be null");
+        }
+
+        buffer[nextFree] = value;
+        nextFree = (nextFree + 1) % buffer.length;
+        size++;
+    }
+
+    @Override
+    public T get() {
+        if (isEmpty()) {
+            throw new EmptyBoundedQueueException("get: empty bounded queue");
+        }
+
+        T item = buffer[first];
+        buffer[first] = null;
+        first = (first + 1) % buffer.length;
+        size--;
+        return item;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size == buffer.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<>() {
+            private int current = first; // index of the element to be visited
+            private int visited; // number of visited elements
+
+            @Override
+            public boolean hasNext() {
+                return visited < size;
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("next: bounded queue iterator exhausted");
+                }
+                T item = buffer[current];
+                current = (current + 1) % buffer.length;
+                visited++;
+                return item;
+            }
+        };
+    }
+}
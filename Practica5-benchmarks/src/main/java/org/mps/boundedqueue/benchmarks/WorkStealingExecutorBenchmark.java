@@ -0,0 +1,108 @@
+package org.mps.boundedqueue.benchmarks;
+
+import org.mps.boundedqueue.WorkStealingExecutor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time to compute a Fibonacci number by a recursive fan-out of tasks, on {@link WorkStealingExecutor}
+ * and on a {@link ForkJoinPool} of the same parallelism. Both run exactly the same tasks: every call
+ * above {@code threshold} submits its two recursive calls through {@link Executor#execute(Runnable)},
+ * and the calls below it are computed in place.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class WorkStealingExecutorBenchmark {
+
+    @Param({"workStealing", "forkJoinPool"})
+    String implementation;
+
+    @Param({"25"})
+    int n;
+
+    @Param({"5", "12"})
+    int threshold;
+
+    private Executor executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        executor = implementation.equals("workStealing")
+                ? new WorkStealingExecutor(parallelism, 1024)
+                : new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (executor instanceof WorkStealingExecutor workStealing) {
+            workStealing.close();
+        } else {
+            ((ForkJoinPool) executor).shutdown();
+        }
+    }
+
+    @Benchmark
+    public long fibonacci() throws InterruptedException {
+        Fibonacci root = new Fibonacci(this, n, new AtomicLong(), new AtomicLong(1), new CountDownLatch(1));
+        executor.execute(root);
+        root.done.await();
+        return root.sum.get();
+    }
+
+    static long sequentialFibonacci(int n) {
+        return n < 2 ? n : sequentialFibonacci(n - 1) + sequentialFibonacci(n - 2);
+    }
+
+    /**
+     * Adds fib(n) to sum, and counts down done once every task of the fan-out has finished.
+     */
+    private record Fibonacci(WorkStealingExecutorBenchmark state, int n, AtomicLong sum,
+                             AtomicLong outstanding, CountDownLatch done) implements Runnable {
+
+        @Override
+        public void run() {
+            if (n < state.threshold) {
+                sum.addAndGet(sequentialFibonacci(n));
+            } else {
+                fork(n - 1);
+                fork(n - 2);
+            }
+            if (outstanding.decrementAndGet() == 0) {
+                done.countDown();
+            }
+        }
+
+        private void fork(int m) {
+            Fibonacci task = new Fibonacci(state, m, sum, outstanding, done);
+            outstanding.incrementAndGet();
+            try {
+                state.executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+    }
+}
@@ -1,7 +1,14 @@
 package org.mps.boundedqueue;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 public class ArrayBoundedQueue<T> implements BoundedQueue<T> {
 
@@ -12,12 +19,19 @@ public class ArrayBoundedQueue<T> implements BoundedQueue<T> {
      * </p>
      * <ul>
      * <li> elements are stored in a circular slice of {@code size} positions that ranges from {@code first} to
-     * {@code nextFree-1}, where the next position is computed using modular arithmetic. Elements cannot
-     * be {@code null}.
+     * {@code nextFree-1}, where the position following {@code buffer.length-1} is {@code 0}. Elements
+     * cannot be {@code null}.
      * </li>
      * <li> the {@code size - buffer.length} available positions are those in a circular slice that ranges from
-     * {@code nextFree} to {@code first-1}, once again, using modular arithmetic. Available positions
-     * must be {@code null}.
+     * {@code nextFree} to {@code first-1}, once again, wrapping around the end of {@code buffer}. Available
+     * positions must be {@code null}.
+     * </li>
+     * <li> when a value is inserted into a full bounded queue, {@code overflowPolicy} decides whether it is
+     * rejected, takes the position of the first element, or is discarded. {@code dropped} counts the
+     * elements discarded either way; it is only written by the thread inserting values.
+     * </li>
+     * <li> {@code modCount} is incremented by every operation that changes the elements, so that iterators,
+     * {@code forEach} and spliterators can detect a modification while they traverse the bounded queue.
      * </li>
      * </ul>
      */
@@ -26,37 +40,105 @@ public class ArrayBoundedQueue<T> implements BoundedQueue<T> {
     private int first; // index of the position in buffer that stores the first element in the bounded queue
     private int nextFree; // index of the first position available in the array buffer
     private int size; // number of elements in the bounded queue
+    private final OverflowPolicy overflowPolicy; // what to do when putting into a full bounded queue
+    private volatile long dropped; // number of elements discarded because of overflows
+    private int modCount; // number of operations that changed the elements
+    volatile boolean pooled; // whether the bounded queue is idle in a BoundedQueuePool
 
     /**
-     * Constructs an empty bounded queue with the specified capacity.
+     * Constructs an empty bounded queue with the specified capacity, which rejects values when full.
      *
      * @param capacity the capacity of the bounded queue
      * @throws IllegalArgumentException if the specified capacity is not positive
      */
-    @SuppressWarnings("unchecked")
     public ArrayBoundedQueue(int capacity) {
+        this(capacity, OverflowPolicy.REJECT);
+    }
+
+    /**
+     * Constructs an empty bounded queue with the specified capacity and overflow policy.
+     *
+     * @param capacity       the capacity of the bounded queue
+     * @param overflowPolicy what to do when a value is put into the full bounded queue
+     * @throws IllegalArgumentException if the specified capacity is not positive or the policy is {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public ArrayBoundedQueue(int capacity, OverflowPolicy overflowPolicy) {
         if (capacity <= 0) {
             throw new IllegalArgumentException("ArrayBoundedException: capacity must be positive");
         }
+        if (overflowPolicy == null) {
+            throw new IllegalArgumentException("ArrayBoundedException: overflow policy cannot be null");
+        }
 
         buffer = (T[]) new Object[capacity];
         first = 0;
         nextFree = 0;
         size = 0;
+        this.overflowPolicy = overflowPolicy;
+        dropped = 0;
+        modCount = 0;
+    }
+
+    /**
+     * Constructs an empty bounded queue with the specified capacity, backed by an array whose length is
+     * rounded up to a power of two so that positions are computed by masking a pair of ever-increasing
+     * sequences. The bounded queue is still full at exactly {@code capacity} elements.
+     * <p>
+     * It is a plain {@link BoundedQueue}, not an {@code ArrayBoundedQueue}: it always rejects values put
+     * while full, as {@link OverflowPolicy#REJECT} does, and offers neither {@link #reset()} nor the
+     * other methods of this class. Its iterator is not fail-fast, so a modification during a traversal
+     * goes undetected, and {@code putAll} and {@code drainTo} are the element-by-element defaults of
+     * {@link BoundedQueue} rather than array copies.
+     * </p>
+     *
+     * @param capacity the capacity of the bounded queue
+     * @param <T>      the type of elements held in the bounded queue
+     * @return an empty bounded queue with the specified capacity
+     * @throws IllegalArgumentException if the specified capacity is not positive or greater than {@code 2^30}
+     */
+    public static <T> BoundedQueue<T> withPowerOfTwoCapacity(int capacity) {
+        return new PowerOfTwoArrayBoundedQueue<>(capacity);
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If this bounded queue is full, the value is handled according to its {@link OverflowPolicy}.
+     * </p>
+     *
+     * @throws FullBoundedQueueException if this bounded queue is full and its policy is
+     *                                   {@link OverflowPolicy#REJECT}
+     */
     @Override
     public void put(T value) {
-        if (isFull()) {
+        if (isFull() && overflowPolicy == OverflowPolicy.REJECT) {
             throw new FullBoundedQueueException("put: full bounded queue");
         }
         if (value == null) {
             throw new IllegalArgumentException("put: element cannot be null");
         }
+        if (isFull()) {
+            overflow(value);
+            return;
+        }
 
         buffer[nextFree] = value;
         nextFree = advance(nextFree);
         size++;
+        modCount++;
+    }
+
+    // handles a value put into the full bounded queue, whose policy is not REJECT
+    private void overflow(T value) {
+        if (overflowPolicy == OverflowPolicy.OVERWRITE_OLDEST) {
+            // when full, nextFree == first: the value takes the position of the first element
+            buffer[first] = value;
+            first = advance(first);
+            nextFree = first;
+            modCount++;
+        }
+        dropped = dropped + 1; // single writer, so no lost updates
     }
 
     @Override
@@ -69,11 +151,148 @@ public class ArrayBoundedQueue<T> implements BoundedQueue<T> {
         buffer[first] = null;
         first = advance(first);
         size--;
+        modCount++;
         return item;
     }
 
     private int advance(int index) {
-        return (index + 1) % buffer.length;
+        // a compare is much cheaper than the integer division of (index + 1) % buffer.length
+        int next = index + 1;
+        return next == buffer.length ? 0 : next;
+    }
+
+    // index + offset wrapped around the buffer, for 0 <= offset <= buffer.length
+    private int wrap(int index, int offset) {
+        int next = index + offset;
+        return next >= buffer.length ? next - buffer.length : next;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The values are copied with at most two {@link System#arraycopy} calls, one up to the end of
+     * {@code buffer} and another one from its beginning. Values that do not fit are handled according
+     * to the {@link OverflowPolicy}: with {@link OverflowPolicy#DROP_NEWEST} they are discarded, and
+     * with {@link OverflowPolicy#OVERWRITE_OLDEST} they replace the first elements, so only the last
+     * {@code capacity} values of the slice can be inserted.
+     * </p>
+     */
+    @Override
+    public int putAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        BoundedQueues.checkNoNulls(src, off, len, "putAll");
+
+        int free = buffer.length - size;
+        int skipped = 0; // values of the slice that are discarded without ever being inserted
+        if (len > free) {
+            if (overflowPolicy == OverflowPolicy.OVERWRITE_OLDEST) {
+                skipped = Math.max(0, len - buffer.length);
+                int evicted = len - skipped - free;
+                first = wrap(first, evicted);
+                size -= evicted;
+                dropped = dropped + evicted + skipped;
+            } else {
+                skipped = len - free;
+                if (overflowPolicy == OverflowPolicy.DROP_NEWEST) {
+                    dropped = dropped + skipped;
+                }
+            }
+        }
+
+        int count = len - skipped;
+        int start = overflowPolicy == OverflowPolicy.OVERWRITE_OLDEST ? off + skipped : off;
+        int firstSegment = Math.min(count, buffer.length - nextFree);
+        System.arraycopy(src, start, buffer, nextFree, firstSegment);
+        System.arraycopy(src, start + firstSegment, buffer, 0, count - firstSegment);
+        nextFree = wrap(nextFree, count);
+        size += count;
+        modCount++;
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The elements are transferred as at most two contiguous slices of {@code buffer}.
+     * </p>
+     */
+    @Override
+    public int drainTo(Collection<? super T> dst, int max) {
+        BoundedQueues.checkDrainTarget(this, dst, max);
+
+        int count = Math.min(max, size);
+        int firstSegment = Math.min(count, buffer.length - first);
+        List<T> slots = Arrays.asList(buffer);
+        dst.addAll(slots.subList(first, first + firstSegment));
+        dst.addAll(slots.subList(0, count - firstSegment));
+        release(count, firstSegment);
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The elements are copied with at most two {@link System#arraycopy} calls.
+     * </p>
+     */
+    @Override
+    public int drainTo(T[] dst) {
+        int count = Math.min(dst.length, size);
+        int firstSegment = Math.min(count, buffer.length - first);
+        System.arraycopy(buffer, first, dst, 0, firstSegment);
+        System.arraycopy(buffer, 0, dst, firstSegment, count - firstSegment);
+        release(count, firstSegment);
+        return count;
+    }
+
+    // removes the first count elements, of which firstSegment are stored up to the end of buffer
+    private void release(int count, int firstSegment) {
+        Arrays.fill(buffer, first, first + firstSegment, null);
+        Arrays.fill(buffer, 0, count - firstSegment, null);
+        first = wrap(first, count);
+        size -= count;
+        modCount++;
+    }
+
+    /**
+     * Removes every element of this bounded queue and clears its count of discarded elements, leaving
+     * it as if it had just been constructed. Only the positions that hold elements are cleared, so the
+     * cost is proportional to the size of this bounded queue rather than to its capacity.
+     */
+    public void reset() {
+        release(size, Math.min(size, buffer.length - first));
+        first = 0;
+        nextFree = 0;
+        dropped = 0;
+    }
+
+    /**
+     * Returns the capacity of this bounded queue.
+     *
+     * @return the maximum number of elements this bounded queue can hold
+     */
+    public int capacity() {
+        return buffer.length;
+    }
+
+    /**
+     * Returns the number of elements discarded so far because they were put into this full bounded queue,
+     * either the new values ({@link OverflowPolicy#DROP_NEWEST}) or the evicted first elements
+     * ({@link OverflowPolicy#OVERWRITE_OLDEST}). It can be read from any thread without locking.
+     *
+     * @return the number of discarded elements
+     */
+    public long droppedCount() {
+        return dropped;
+    }
+
+    /**
+     * Returns the overflow policy of this bounded queue.
+     *
+     * @return what this bounded queue does when a value is put into it while full
+     */
+    public OverflowPolicy overflowPolicy() {
+        return overflowPolicy;
     }
 
     @Override
@@ -91,19 +310,65 @@ public class ArrayBoundedQueue<T> implements BoundedQueue<T> {
         return size;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The iterator is fail-fast: it throws a {@link ConcurrentModificationException} if this bounded queue
+     * is modified after the iterator was created.
+     * </p>
+     */
     @Override
     public Iterator<T> iterator() {
         return new ArrayBoundedQueueIterator();
     }
 
+    /**
+     * Performs the given action for each element of this bounded queue, in order. The elements are
+     * visited directly in the (at most) two contiguous slices of {@code buffer}, without an iterator.
+     *
+     * @param action the action to be performed for each element
+     * @throws ConcurrentModificationException if the action modifies this bounded queue
+     */
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        Objects.requireNonNull(action);
+        int expectedModCount = modCount;
+        int firstSegmentEnd = first + Math.min(size, buffer.length - first);
+        int secondSegmentEnd = size - (firstSegmentEnd - first);
+        for (int i = first; i < firstSegmentEnd && modCount == expectedModCount; i++) {
+            action.accept(buffer[i]);
+        }
+        for (int i = 0; i < secondSegmentEnd && modCount == expectedModCount; i++) {
+            action.accept(buffer[i]);
+        }
+        if (modCount != expectedModCount) {
+            throw new ConcurrentModificationException("forEach: bounded queue modified during traversal");
+        }
+    }
+
+    /**
+     * Returns a fail-fast spliterator over the elements of this bounded queue, reporting
+     * {@link Spliterator#ORDERED}, {@link Spliterator#SIZED}, {@link Spliterator#SUBSIZED} and
+     * {@link Spliterator#NONNULL}. It splits first at the point where the elements wrap around the end of
+     * {@code buffer}, so that every part covers a contiguous slice, and then in halves.
+     *
+     * @return a spliterator over the elements of this bounded queue
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArrayBoundedQueueSpliterator(first, 0, size, modCount);
+    }
+
     private class ArrayBoundedQueueIterator implements Iterator<T> {
 
         private int current; // index of the element to be visited
         private int visited; // number of visited elements
+        private final int expectedModCount; // modCount of the bounded queue when the iterator was created
 
         public ArrayBoundedQueueIterator() {
             current = first;
             visited = 0;
+            expectedModCount = modCount;
         }
 
         @Override
@@ -113,6 +378,9 @@ public class ArrayBoundedQueue<T> implements BoundedQueue<T> {
 
         @Override
         public T next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("next: bounded queue modified during iteration");
+            }
             if (!hasNext()) {
                 throw new NoSuchElementException("next: bounded queue iterator exhausted");
             }
@@ -122,4 +390,76 @@ public class ArrayBoundedQueue<T> implements BoundedQueue<T> {
             return item;
         }
     }
+
+    private class ArrayBoundedQueueSpliterator implements Spliterator<T> {
+
+        private final int base; // index of the position in buffer of the element at offset 0
+        private int origin; // offset of the next element to be visited
+        private final int fence; // offset following the last element to be visited
+        private final int expectedModCount; // modCount of the bounded queue when the spliterator was created
+
+        ArrayBoundedQueueSpliterator(int base, int origin, int fence, int expectedModCount) {
+            this.base = base;
+            this.origin = origin;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int wrapOffset = buffer.length - base; // offset of the element stored in position 0
+            int mid = origin < wrapOffset && wrapOffset < fence ? wrapOffset : (origin + fence) >>> 1;
+            if (mid <= origin) {
+                return null;
+            }
+            Spliterator<T> prefix = new ArrayBoundedQueueSpliterator(base, origin, mid, expectedModCount);
+            origin = mid;
+            return prefix;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            checkForComodification();
+            if (origin >= fence) {
+                return false;
+            }
+            action.accept(buffer[wrap(base, origin)]);
+            origin++;
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            checkForComodification();
+            int start = wrap(base, origin);
+            int firstSegmentEnd = start + Math.min(fence - origin, buffer.length - start);
+            int secondSegmentEnd = fence - origin - (firstSegmentEnd - start);
+            origin = fence;
+            for (int i = start; i < firstSegmentEnd; i++) {
+                action.accept(buffer[i]);
+            }
+            for (int i = 0; i < secondSegmentEnd; i++) {
+                action.accept(buffer[i]);
+            }
+            checkForComodification();
+        }
+
+        private void checkForComodification() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException("spliterator: bounded queue modified during traversal");
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package org.mps.boundedqueue;
+
+/**
+ * A bounded deque is a bounded queue owned by a single thread, which pushes and pops elements at the
+ * bottom, while any other thread may steal elements from the top.
+ * <p>
+ * As a {@link BoundedQueue}, {@code put} inserts at the bottom like {@link #push(Object)} and
+ * {@code get} removes from the top like {@link #steal()}, so the elements are still got in the order
+ * they were put. {@code put}, {@link #push(Object)} and {@link #pop()} may only be called by the owner.
+ * </p>
+ *
+ * @param <T> the type of elements held in this bounded deque
+ */
+public interface BoundedDeque<T> extends BoundedQueue<T> {
+
+    /**
+     * Inserts the specified value at the bottom of this bounded deque if there is room for it. Only the
+     * owner may call it.
+     *
+     * @param value the value to be inserted
+     * @return {@code true} if the value was inserted, {@code false} if this bounded deque is full
+     * @throws IllegalArgumentException if the value to be inserted is {@code null}
+     */
+    boolean push(T value);
+
+    /**
+     * Removes and returns the element at the bottom of this bounded deque, that is, the last one pushed.
+     * Only the owner may call it.
+     *
+     * @return the last element of this bounded deque, or {@code null} if it is empty
+     */
+    T pop();
+
+    /**
+     * Removes and returns the element at the top of this bounded deque, that is, the first one pushed.
+     * Any thread may call it.
+     *
+     * @return the first element of this bounded deque, or {@code null} if it is empty or another thread
+     * removed that element first
+     */
+    T steal();
+}
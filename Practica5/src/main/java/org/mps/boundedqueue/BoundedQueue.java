@@ -1,5 +1,8 @@
 package org.mps.boundedqueue;
 
+import java.util.Collection;
+import java.util.Objects;
+
 /**
  * A bounded queue is a queue that can hold a bounded number of elements.
  *
@@ -44,4 +47,65 @@ public interface BoundedQueue<T> extends Iterable<T> {
      * @return the number of elements in this bounded queque
      */
     int size();
+
+    /**
+     * Inserts, in order, as many values of the slice {@code src[off..off+len-1]} as fit at the end of
+     * this bounded queue.
+     *
+     * @param src the array holding the values to be inserted
+     * @param off the index in {@code src} of the first value to be inserted
+     * @param len the number of values to be inserted
+     * @return the number of values inserted, which is smaller than {@code len} if this bounded queue
+     * became full
+     * @throws IndexOutOfBoundsException if the slice is out of the bounds of {@code src}
+     * @throws IllegalArgumentException  if any value of the slice is {@code null}, in which case
+     *                                   nothing is inserted
+     */
+    default int putAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        BoundedQueues.checkNoNulls(src, off, len, "putAll");
+
+        int transferred = 0;
+        while (transferred < len && !isFull()) {
+            put(src[off + transferred]);
+            transferred++;
+        }
+        return transferred;
+    }
+
+    /**
+     * Removes at most {@code max} elements from the front of this bounded queue and adds them, in
+     * order, to the specified collection.
+     *
+     * @param dst the collection to transfer the elements to
+     * @param max the maximum number of elements to transfer
+     * @return the number of elements transferred
+     * @throws IllegalArgumentException if {@code max} is negative or {@code dst} is this bounded queue
+     */
+    default int drainTo(Collection<? super T> dst, int max) {
+        BoundedQueues.checkDrainTarget(this, dst, max);
+
+        int transferred = 0;
+        while (transferred < max && !isEmpty()) {
+            dst.add(get());
+            transferred++;
+        }
+        return transferred;
+    }
+
+    /**
+     * Removes elements from the front of this bounded queue and stores them, in order, from the first
+     * position of the specified array, until either this bounded queue is empty or the array is full.
+     *
+     * @param dst the array to transfer the elements to
+     * @return the number of elements transferred
+     */
+    default int drainTo(T[] dst) {
+        int transferred = 0;
+        while (transferred < dst.length && !isEmpty()) {
+            dst[transferred] = get();
+            transferred++;
+        }
+        return transferred;
+    }
 }
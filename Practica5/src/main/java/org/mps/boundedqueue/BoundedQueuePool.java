@@ -0,0 +1,199 @@
+package org.mps.boundedqueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe pool of reusable {@link ArrayBoundedQueue}s, so that short-lived bounded queues do not
+ * allocate and zero a new array every time.
+ * <p>
+ * Queues are grouped in capacity classes: every power of two from {@code minCapacity} to
+ * {@code maxCapacity}, both rounded up to a power of two. {@link #acquire(int)} returns an empty queue
+ * of the smallest class that fits the requested capacity, so its capacity may be larger than requested.
+ * Requests above the largest class are always served by a new, unpooled queue.
+ * {@link #release(ArrayBoundedQueue)} resets a queue and keeps it for later, unless its class already
+ * holds {@code maxIdlePerClass} idle queues. Acquiring and releasing a pooled queue does not allocate.
+ * </p>
+ * <p>
+ * Every idle queue is flagged as pooled until it is acquired again, so releasing a queue that is already
+ * idle fails instead of handing the same queue to two owners.
+ * </p>
+ */
+public class BoundedQueuePool {
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final VarHandle POOLED;
+
+    static {
+        try {
+            POOLED = MethodHandles.lookup().findVarHandle(ArrayBoundedQueue.class, "pooled", boolean.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final MpmcArrayBoundedQueue<ArrayBoundedQueue<?>>[] classes; // idle queues of every class
+    private final int minShift; // log2 of the capacity of the smallest class
+    private final LongAdder hits; // acquisitions served by an idle queue
+    private final LongAdder misses; // acquisitions that allocated a new queue
+    private final LongAdder discarded; // released queues that were not kept
+
+    /**
+     * Constructs a pool with the specified capacity classes, and allocates {@code prewarmedPerClass}
+     * idle queues of every class.
+     *
+     * @param minCapacity       the capacity of the smallest class, rounded up to a power of two
+     * @param maxCapacity       the capacity of the largest class, rounded up to a power of two
+     * @param maxIdlePerClass   the maximum number of idle queues kept in every class
+     * @param prewarmedPerClass the number of idle queues allocated upfront in every class
+     * @throws IllegalArgumentException if a capacity is not positive or greater than {@code 2^30},
+     *                                  {@code maxCapacity} is smaller than {@code minCapacity},
+     *                                  {@code maxIdlePerClass} is not positive, or
+     *                                  {@code prewarmedPerClass} is negative or greater than
+     *                                  {@code maxIdlePerClass}
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BoundedQueuePool(int minCapacity, int maxCapacity, int maxIdlePerClass, int prewarmedPerClass) {
+        if (minCapacity <= 0 || maxCapacity > MAX_CAPACITY || minCapacity > maxCapacity) {
+            throw new IllegalArgumentException("BoundedQueuePool: capacities must satisfy 0 < minCapacity <= maxCapacity <= 2^30");
+        }
+        if (maxIdlePerClass <= 0) {
+            throw new IllegalArgumentException("BoundedQueuePool: maxIdlePerClass must be positive");
+        }
+        if (prewarmedPerClass < 0 || prewarmedPerClass > maxIdlePerClass) {
+            throw new IllegalArgumentException("BoundedQueuePool: prewarmedPerClass must be between 0 and maxIdlePerClass");
+        }
+
+        minShift = shift(SpscArrayBoundedQueue.ceilingPowerOfTwo(minCapacity));
+        int maxShift = shift(SpscArrayBoundedQueue.ceilingPowerOfTwo(maxCapacity));
+        classes = new MpmcArrayBoundedQueue[maxShift - minShift + 1];
+        for (int i = 0; i < classes.length; i++) {
+            classes[i] = new MpmcArrayBoundedQueue<>(maxIdlePerClass);
+            for (int j = 0; j < prewarmedPerClass; j++) {
+                ArrayBoundedQueue<?> queue = new ArrayBoundedQueue<>(1 << (minShift + i));
+                queue.pooled = true;
+                classes[i].offer(queue);
+            }
+        }
+        hits = new LongAdder();
+        misses = new LongAdder();
+        discarded = new LongAdder();
+    }
+
+    private static int shift(int powerOfTwo) {
+        return Integer.numberOfTrailingZeros(powerOfTwo);
+    }
+
+    /**
+     * Returns an empty bounded queue that can hold at least the specified number of elements, taken
+     * from the pool if one is idle. It rejects values put while full. Unless the specified capacity is
+     * above the largest class, the queue has the capacity of its class, so it only becomes full once it
+     * holds that many elements, which may be more than requested.
+     *
+     * @param capacity the minimum capacity of the bounded queue
+     * @param <T>      the type of elements held in the bounded queue
+     * @return an empty bounded queue whose {@link ArrayBoundedQueue#capacity()} is at least
+     * {@code capacity}
+     * @throws IllegalArgumentException if the specified capacity is not positive or greater than
+     *                                  {@code 2^30}
+     */
+    @SuppressWarnings("unchecked")
+    public <T> ArrayBoundedQueue<T> acquire(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("acquire: capacity must be positive and at most 2^30");
+        }
+
+        int index = classIndex(SpscArrayBoundedQueue.ceilingPowerOfTwo(capacity));
+        if (index >= classes.length) {
+            misses.increment();
+            return new ArrayBoundedQueue<>(capacity);
+        }
+        index = Math.max(0, index);
+        // idle queues are empty, so any element type is fine
+        ArrayBoundedQueue<T> queue = (ArrayBoundedQueue<T>) classes[index].poll();
+        if (queue != null) {
+            queue.pooled = false;
+            hits.increment();
+            return queue;
+        }
+        misses.increment();
+        return new ArrayBoundedQueue<>(1 << (minShift + index));
+    }
+
+    /**
+     * Resets the specified bounded queue and returns it to the pool. The caller must not use it
+     * afterwards. Queues whose capacity is not one of the classes, that discard elements when full,
+     * or that arrive when their class is already full of idle queues, are left to the garbage
+     * collector.
+     *
+     * @param queue the bounded queue to be released
+     * @throws IllegalArgumentException if the bounded queue is {@code null}
+     * @throws IllegalStateException    if the bounded queue is already idle in a pool
+     */
+    public void release(ArrayBoundedQueue<?> queue) {
+        if (queue == null) {
+            throw new IllegalArgumentException("release: queue cannot be null");
+        }
+
+        int capacity = queue.capacity();
+        int index = classIndex(capacity);
+        if (Integer.bitCount(capacity) != 1 || index < 0 || index >= classes.length
+                || queue.overflowPolicy() != OverflowPolicy.REJECT) {
+            discarded.increment();
+            return;
+        }
+        if (!POOLED.compareAndSet(queue, false, true)) {
+            throw new IllegalStateException("release: queue already released");
+        }
+        queue.reset();
+        if (!classes[index].offer(queue)) {
+            queue.pooled = false;
+            discarded.increment();
+        }
+    }
+
+    private int classIndex(int powerOfTwo) {
+        return shift(powerOfTwo) - minShift;
+    }
+
+    /**
+     * Returns the number of acquisitions served by an idle queue of the pool.
+     *
+     * @return the number of pool hits
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of acquisitions that had to allocate a new queue.
+     *
+     * @return the number of pool misses
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of released queues that were not kept by the pool.
+     *
+     * @return the number of discarded queues
+     */
+    public long discarded() {
+        return discarded.sum();
+    }
+
+    /**
+     * Returns the number of idle queues currently kept by the pool.
+     *
+     * @return the number of idle queues of every class together
+     */
+    public int idle() {
+        int idle = 0;
+        for (MpmcArrayBoundedQueue<ArrayBoundedQueue<?>> pooled : classes) {
+            idle += pooled.size();
+        }
+        return idle;
+    }
+}
@@ -0,0 +1,34 @@
+package org.mps.boundedqueue;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Spring configuration exposing a shared {@link BoundedQueuePool}, sized through the following
+ * properties:
+ * <ul>
+ * <li> {@code boundedqueue.pool.min-capacity}: capacity of the smallest class, {@code 16} by default.
+ * </li>
+ * <li> {@code boundedqueue.pool.max-capacity}: capacity of the largest class, {@code 65536} by default.
+ * </li>
+ * <li> {@code boundedqueue.pool.max-idle-per-class}: idle queues kept in every class, {@code 64} by
+ * default.
+ * </li>
+ * <li> {@code boundedqueue.pool.prewarmed-per-class}: idle queues allocated upfront in every class,
+ * {@code 0} by default.
+ * </li>
+ * </ul>
+ */
+@Configuration
+public class BoundedQueuePoolConfiguration {
+
+    @Bean
+    public BoundedQueuePool boundedQueuePool(
+            @Value("${boundedqueue.pool.min-capacity:16}") int minCapacity,
+            @Value("${boundedqueue.pool.max-capacity:65536}") int maxCapacity,
+            @Value("${boundedqueue.pool.max-idle-per-class:64}") int maxIdlePerClass,
+            @Value("${boundedqueue.pool.prewarmed-per-class:0}") int prewarmedPerClass) {
+        return new BoundedQueuePool(minCapacity, maxCapacity, maxIdlePerClass, prewarmedPerClass);
+    }
+}
@@ -0,0 +1,29 @@
+package org.mps.boundedqueue;
+
+import java.util.Collection;
+
+/**
+ * Argument checks shared by the bounded queue implementations.
+ */
+final class BoundedQueues {
+
+    private BoundedQueues() {
+    }
+
+    static void checkNoNulls(Object[] src, int off, int len, String operation) {
+        for (int i = off; i < off + len; i++) {
+            if (src[i] == null) {
+                throw new IllegalArgumentException(operation + ": element cannot be null");
+            }
+        }
+    }
+
+    static void checkDrainTarget(BoundedQueue<?> queue, Collection<?> dst, int max) {
+        if (max < 0) {
+            throw new IllegalArgumentException("drainTo: max cannot be negative");
+        }
+        if (dst == queue) {
+            throw new IllegalArgumentException("drainTo: cannot drain a bounded queue into itself");
+        }
+    }
+}
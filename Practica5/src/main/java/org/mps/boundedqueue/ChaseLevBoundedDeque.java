@@ -0,0 +1,219 @@
+package org.mps.boundedqueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A lock-free bounded deque following the Chase-Lev work-stealing algorithm on a fixed circular array:
+ * the owner thread pushes and pops at the bottom without any atomic instruction unless it competes for
+ * the last element, and thieves steal from the top through a compare-and-set.
+ * <p>
+ * Unlike the original algorithm, the array never grows: {@link #push(Object)} fails when the deque
+ * holds {@code capacity} elements. The iterator is weakly consistent and is only reliable when used
+ * from the owner thread while no other thread steals.
+ * </p>
+ *
+ * @param <T> the type of elements held in this bounded deque
+ */
+public class ChaseLevBoundedDeque<T> implements BoundedDeque<T> {
+
+    /**
+     * <h3>Internal representation:</h3>
+     * <p>
+     * The elements of the bounded deque are stored in the array {@code buffer}, whose length is the
+     * smallest power of two not smaller than {@code capacity}, as follows:
+     * </p>
+     * <ul>
+     * <li> {@code top} and {@code bottom} are sequences: {@code top} is only ever incremented, by a
+     * compare-and-set, while {@code bottom} is only written by the owner. The number of elements is
+     * {@code bottom - top}, which never exceeds {@code capacity}.
+     * </li>
+     * <li> the element with sequence {@code s} is stored in position {@code s & mask}. Elements cannot be
+     * {@code null}. Positions freed by the owner are cleared, but a position freed by a thief keeps its
+     * stale reference until it is overwritten, since a thief cannot clear it without racing the owner.
+     * </li>
+     * <li> the owner decrements {@code bottom} before reading {@code top} and a thief reads {@code top}
+     * before {@code bottom}, both with volatile semantics, so when they compete for the last element
+     * at least one of them notices and settles it with a compare-and-set on {@code top}.
+     * </li>
+     * </ul>
+     */
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final VarHandle BUFFER = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Object[] buffer; // stores the elements of the bounded deque
+    private final int mask; // buffer.length - 1
+    private final int capacity; // maximum number of elements in the bounded deque
+    private final PaddedSequence top; // sequence of the element to be stolen next
+    private final PaddedSequence bottom; // sequence of the next element to be pushed
+
+    /**
+     * Constructs an empty bounded deque with the specified capacity.
+     *
+     * @param capacity the capacity of the bounded deque
+     * @throws IllegalArgumentException if the specified capacity is not positive or greater than
+     *                                  {@code 2^30}
+     */
+    public ChaseLevBoundedDeque(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("ChaseLevBoundedDeque: capacity must be positive and at most 2^30");
+        }
+
+        this.capacity = capacity;
+        buffer = new Object[SpscArrayBoundedQueue.ceilingPowerOfTwo(capacity)];
+        mask = buffer.length - 1;
+        top = new PaddedSequence(0);
+        bottom = new PaddedSequence(0);
+    }
+
+    @Override
+    public boolean push(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("push: element cannot be null");
+        }
+
+        long b = bottom.getPlain();
+        if (b - top.getAcquire() >= capacity) {
+            return false;
+        }
+        BUFFER.set(buffer, (int) b & mask, value);
+        bottom.setRelease(b + 1);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T pop() {
+        long b = bottom.getPlain() - 1;
+        bottom.setVolatile(b);
+        long t = top.getVolatile();
+        if (t > b) {
+            // empty: undo the claim
+            bottom.setRelease(b + 1);
+            return null;
+        }
+
+        int index = (int) b & mask;
+        T item = (T) BUFFER.get(buffer, index);
+        if (t == b) {
+            // last element: compete with the thieves for it
+            if (!top.compareAndSet(t, t + 1)) {
+                item = null;
+            }
+            bottom.setRelease(b + 1);
+        }
+        BUFFER.setRelease(buffer, index, null);
+        return item;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T steal() {
+        long t = top.getVolatile();
+        long b = bottom.getVolatile();
+        if (t >= b) {
+            return null;
+        }
+
+        T item = (T) BUFFER.getAcquire(buffer, (int) t & mask);
+        return top.compareAndSet(t, t + 1) ? item : null;
+    }
+
+    @Override
+    public void put(T value) {
+        if (value == null) {
+            if (isFull()) {
+                throw new FullBoundedQueueException("put: full bounded queue");
+            }
+            throw new IllegalArgumentException("put: element cannot be null");
+        }
+        if (!push(value)) {
+            throw new FullBoundedQueueException("put: full bounded queue");
+        }
+    }
+
+    /**
+     * Returns the first element of this bounded deque, the same one {@link #steal()} would return,
+     * retrying while other threads take it first.
+     *
+     * @return the first element of this bounded deque
+     * @throws EmptyBoundedQueueException if this bounded deque is empty
+     */
+    @Override
+    public T get() {
+        while (!isEmpty()) {
+            T item = steal();
+            if (item != null) {
+                return item;
+            }
+        }
+        throw new EmptyBoundedQueueException("get: empty bounded queue");
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        // a concurrent pop can leave bottom momentarily below top
+        long t = top.getVolatile();
+        long b = bottom.getVolatile();
+        return (int) Math.max(0, Math.min(b - t, capacity));
+    }
+
+    /**
+     * Returns the capacity of this bounded deque.
+     *
+     * @return the maximum number of elements this bounded deque can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ChaseLevBoundedDequeIterator();
+    }
+
+    private class ChaseLevBoundedDequeIterator implements Iterator<T> {
+
+        private long current; // sequence of the next candidate element
+        private final long end; // sequence following the last element to be visited
+        private T nextItem; // element to be returned by next(), or null if not looked up yet
+
+        public ChaseLevBoundedDequeIterator() {
+            current = top.getVolatile();
+            end = bottom.getVolatile();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (nextItem == null && current < end) {
+                nextItem = (T) BUFFER.getAcquire(buffer, (int) current & mask);
+                current++;
+            }
+            return nextItem != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("next: bounded queue iterator exhausted");
+            }
+            T item = nextItem;
+            nextItem = null;
+            return item;
+        }
+    }
+}
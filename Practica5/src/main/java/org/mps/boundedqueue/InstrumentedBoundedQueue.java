@@ -0,0 +1,378 @@
+package org.mps.boundedqueue;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded queue decorator that records how another bounded queue is used: the number of puts and gets,
+ * the rejected puts and empty gets, the highest size reached, and a histogram of how long the elements
+ * stay in the queue. {@link #snapshot()} exposes all of it for export.
+ * <p>
+ * Recording never allocates: counters are {@link LongAdder}s and the insertion time of every element is
+ * kept in a preallocated slot reserved before the element reaches the decorated queue. The decorator is
+ * as thread-safe as the decorated queue. With one producer and one consumer every element is matched
+ * with its own insertion time; with concurrent producers or consumers, an element may be matched with
+ * the insertion time of another element whose put or get overlapped with its own, but never with a time
+ * that was not recorded.
+ * </p>
+ *
+ * @param <T> the type of elements held in this bounded queue
+ */
+public class InstrumentedBoundedQueue<T> implements BoundedQueue<T> {
+
+    /**
+     * <h3>Internal representation:</h3>
+     * <ul>
+     * <li> the elements are stored in {@code delegate}. Since it is a FIFO queue, the {@code n}-th element
+     * got is matched with the {@code n}-th slot committed.
+     * </li>
+     * <li> {@code available} is the number of slots that can still be reserved. A put takes one before
+     * reaching {@code delegate}, so no more than {@code capacity} values are ever reserved and not yet
+     * got, and is rejected without reserving anything when there is none.
+     * </li>
+     * <li> a put then reserves the sequence {@code s = putSequence++}, stores its time in
+     * {@code putTimes[s & mask]} and hands the value to {@code delegate}. Afterwards it publishes
+     * {@code states[s & mask] = committed(s)} if the value was inserted, or {@code voided(s)} if
+     * {@code delegate} rejected it.
+     * </li>
+     * <li> a get, once it has removed an element from {@code delegate}, claims the slot at
+     * {@code getSequence}: it skips voided slots, waits for a slot still being put to be published, reads
+     * the time of the first committed one, advances {@code getSequence} past it and gives back its
+     * {@code available} slot. A voided slot at {@code getSequence} is also given back by a put that finds
+     * no slot available.
+     * </li>
+     * <li> the slots from {@code getSequence} to {@code putSequence-1} are never more than
+     * {@code capacity}, and {@code putTimes} has at least that many positions, so a slot is never reused
+     * before its time is read.
+     * </li>
+     * </ul>
+     */
+
+    /**
+     * The metrics of an instrumented bounded queue at some point in time.
+     *
+     * @param puts            number of values inserted
+     * @param gets            number of elements removed
+     * @param rejectedPuts    number of values rejected because the bounded queue was full
+     * @param emptyGets       number of attempts to remove an element from the empty bounded queue
+     * @param size            number of elements in the bounded queue
+     * @param highWaterMark   highest number of elements the bounded queue has held
+     * @param elapsedNanos    time since the instrumentation started, in nanoseconds
+     * @param residenceCounts residence time histogram, see {@link #residenceBucketLowerBound(int)}
+     */
+    public record Snapshot(long puts, long gets, long rejectedPuts, long emptyGets, int size, int highWaterMark,
+                           long elapsedNanos, long[] residenceCounts) {
+
+        /**
+         * Returns the number of values inserted per second.
+         *
+         * @return the put rate
+         */
+        public double putRate() {
+            return rate(puts);
+        }
+
+        /**
+         * Returns the number of elements removed per second.
+         *
+         * @return the get rate
+         */
+        public double getRate() {
+            return rate(gets);
+        }
+
+        private double rate(long count) {
+            return elapsedNanos == 0 ? 0 : count * 1e9 / elapsedNanos;
+        }
+
+        /**
+         * Returns an upper bound, within {@code 12.5%}, of the residence time of the given percentile of
+         * the elements got so far.
+         *
+         * @param percentile the percentile, between {@code 0} and {@code 100}
+         * @return the residence time in nanoseconds, or {@code 0} if no element has been got
+         */
+        public long residencePercentile(double percentile) {
+            return LogLinearHistogram.valueAtPercentile(residenceCounts, percentile);
+        }
+
+        /**
+         * Returns the smallest residence time, in nanoseconds, counted in the given histogram bucket.
+         *
+         * @param bucket the index of a bucket of {@link #residenceCounts()}
+         * @return the lower bound of the bucket
+         */
+        public static long residenceBucketLowerBound(int bucket) {
+            return LogLinearHistogram.lowerBound(bucket);
+        }
+    }
+
+    private final BoundedQueue<T> delegate; // the decorated bounded queue
+    private final int capacity; // maximum number of elements in delegate
+    private final long[] putTimes; // insertion time of the elements, indexed by put sequence
+    private final AtomicLongArray states; // whether the put of every slot is committed or voided
+    private final int mask; // putTimes.length - 1
+    private final AtomicInteger available; // number of slots that can be reserved
+    private final AtomicLong putSequence; // sequence of the next slot to be reserved
+    private final AtomicLong getSequence; // sequence of the next slot to be claimed
+    private final LongAdder puts;
+    private final LongAdder gets;
+    private final LongAdder rejectedPuts;
+    private final LongAdder emptyGets;
+    private final LongAccumulator highWaterMark;
+    private final LogLinearHistogram residence;
+    private final long startNanos;
+
+    /**
+     * Constructs an instrumented view of the specified bounded queue, which must be empty and must not
+     * be used directly afterwards.
+     *
+     * @param delegate the bounded queue to be instrumented
+     * @param capacity the maximum number of elements the instrumented view holds. A put beyond it is
+     *                 rejected even if {@code delegate} has room, and a put {@code delegate} rejects
+     *                 is rejected even if the instrumented view has room
+     * @throws IllegalArgumentException if the bounded queue is {@code null}, not empty, or discards elements
+     *                                  when full, or the capacity is not positive or greater than {@code 2^28}
+     */
+    public InstrumentedBoundedQueue(BoundedQueue<T> delegate, int capacity) {
+        if (delegate == null || !delegate.isEmpty()) {
+            throw new IllegalArgumentException("InstrumentedBoundedQueue: delegate must be an empty bounded queue");
+        }
+        if (delegate instanceof ArrayBoundedQueue<T> array && array.overflowPolicy() != OverflowPolicy.REJECT) {
+            throw new IllegalArgumentException("InstrumentedBoundedQueue: delegate cannot discard elements");
+        }
+        if (capacity <= 0 || capacity > 1 << 28) {
+            throw new IllegalArgumentException("InstrumentedBoundedQueue: capacity must be positive and at most 2^28");
+        }
+
+        this.delegate = delegate;
+        this.capacity = capacity;
+        putTimes = new long[SpscArrayBoundedQueue.ceilingPowerOfTwo(capacity)];
+        states = new AtomicLongArray(putTimes.length);
+        mask = putTimes.length - 1;
+        available = new AtomicInteger(capacity);
+        putSequence = new AtomicLong();
+        getSequence = new AtomicLong();
+        puts = new LongAdder();
+        gets = new LongAdder();
+        rejectedPuts = new LongAdder();
+        emptyGets = new LongAdder();
+        highWaterMark = new LongAccumulator(Math::max, 0);
+        residence = new LogLinearHistogram();
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the capacity of this bounded queue.
+     *
+     * @return the maximum number of elements this bounded queue can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public void put(T value) {
+        if (reserve(1) == 0) {
+            rejectedPuts.increment();
+            throw new FullBoundedQueueException("put: full bounded queue");
+        }
+        long sequence = stamp(1);
+        try {
+            delegate.put(value);
+        } catch (RuntimeException e) {
+            publish(sequence, 0, 1);
+            if (e instanceof FullBoundedQueueException) {
+                rejectedPuts.increment();
+            }
+            throw e;
+        }
+        publish(sequence, 1, 1);
+    }
+
+    @Override
+    public T get() {
+        T item;
+        try {
+            item = delegate.get();
+        } catch (EmptyBoundedQueueException e) {
+            emptyGets.increment();
+            throw e;
+        }
+        claim(1);
+        return item;
+    }
+
+    @Override
+    public int putAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        BoundedQueues.checkNoNulls(src, off, len, "putAll");
+
+        int reserved = reserve(len);
+        int transferred = 0;
+        if (reserved > 0) {
+            long sequence = stamp(reserved);
+            try {
+                transferred = delegate.putAll(src, off, reserved);
+            } finally {
+                publish(sequence, transferred, reserved);
+            }
+        }
+        rejectedPuts.add(len - transferred);
+        return transferred;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> dst, int max) {
+        return recordDrain(delegate.drainTo(dst, max), max);
+    }
+
+    @Override
+    public int drainTo(T[] dst) {
+        return recordDrain(delegate.drainTo(dst), dst.length);
+    }
+
+    private int recordDrain(int transferred, int requested) {
+        if (transferred == 0 && requested > 0) {
+            emptyGets.increment();
+        }
+        claim(transferred);
+        return transferred;
+    }
+
+    /**
+     * Takes at most {@code count} of the available slots, giving back the voided slots at the front first
+     * if there is none, and returns how many were taken.
+     */
+    private int reserve(int count) {
+        if (available.get() == 0) {
+            reclaimVoided();
+        }
+        while (true) {
+            int free = available.get();
+            int taken = Math.min(free, count);
+            if (taken == 0 || available.compareAndSet(free, free - taken)) {
+                return taken;
+            }
+        }
+    }
+
+    /**
+     * Reserves the next {@code count} slots, writes the current time in them and returns the sequence of
+     * the first one.
+     */
+    private long stamp(int count) {
+        long now = System.nanoTime();
+        long sequence = putSequence.getAndAdd(count);
+        for (int i = 0; i < count; i++) {
+            putTimes[(int) (sequence + i) & mask] = now;
+        }
+        return sequence;
+    }
+
+    /**
+     * Publishes the first {@code inserted} of the {@code count} slots reserved from {@code sequence} as
+     * committed, and the rest as voided.
+     */
+    private void publish(long sequence, int inserted, int count) {
+        for (int i = 0; i < count; i++) {
+            long s = sequence + i;
+            states.setRelease((int) s & mask, i < inserted ? committed(s) : voided(s));
+        }
+        if (inserted > 0) {
+            puts.add(inserted);
+            highWaterMark.accumulate(delegate.size());
+        }
+    }
+
+    /**
+     * Claims the slots of {@code count} elements just removed from the delegate and records how long
+     * they stayed in it.
+     */
+    private void claim(int count) {
+        long now = System.nanoTime();
+        int claimed = 0;
+        while (claimed < count) {
+            long sequence = getSequence.get();
+            int index = (int) sequence & mask;
+            long state = states.getAcquire(index);
+            if (state == committed(sequence)) {
+                long putTime = putTimes[index];
+                if (getSequence.compareAndSet(sequence, sequence + 1)) {
+                    available.incrementAndGet();
+                    residence.record(now - putTime);
+                    claimed++;
+                }
+            } else if (state == voided(sequence)) {
+                if (getSequence.compareAndSet(sequence, sequence + 1)) {
+                    available.incrementAndGet();
+                }
+            } else {
+                // the put of this slot was reserved before the element got, and is about to be published
+                Thread.yield();
+            }
+        }
+        gets.add(count);
+    }
+
+    /**
+     * Gives back the voided slots at {@code getSequence}, which no get would claim until an element put
+     * after them is got.
+     */
+    private void reclaimVoided() {
+        long sequence = getSequence.get();
+        while (states.getAcquire((int) sequence & mask) == voided(sequence)
+                && getSequence.compareAndSet(sequence, sequence + 1)) {
+            available.incrementAndGet();
+            sequence++;
+        }
+    }
+
+    private static long committed(long sequence) {
+        return 2 * sequence + 1;
+    }
+
+    private static long voided(long sequence) {
+        return 2 * sequence + 2;
+    }
+
+    @Override
+    public boolean isFull() {
+        if (available.get() == 0) {
+            reclaimVoided();
+        }
+        return available.get() == 0 || delegate.isFull();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return delegate.size();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return delegate.iterator();
+    }
+
+    /**
+     * Returns the current metrics of this bounded queue. Every counter is read independently, so with
+     * concurrent operations the snapshot may not be perfectly consistent.
+     *
+     * @return the current metrics
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(puts.sum(), gets.sum(), rejectedPuts.sum(), emptyGets.sum(), delegate.size(),
+                (int) highWaterMark.get(), System.nanoTime() - startNanos, residence.snapshot());
+    }
+}
@@ -0,0 +1,152 @@
+package org.mps.boundedqueue;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * A bounded queue of {@code int} values stored without boxing.
+ * <p>
+ * It follows the {@link BoundedQueue} contract, except that there is no {@code null} to reject.
+ * Iterating through {@link #iterator()} as a {@link PrimitiveIterator.OfInt} and calling
+ * {@code nextInt()} does not box the values either.
+ * </p>
+ */
+public class IntBoundedQueue implements Iterable<Integer> {
+
+    /**
+     * <h3>Internal representation:</h3>
+     * <p>
+     * The elements of the bounded queue are stored in the array {@code buffer} as follows:
+     * </p>
+     * <ul>
+     * <li> elements are stored in a circular slice of {@code size} positions that ranges from {@code first} to
+     * {@code nextFree-1}, where the position following {@code buffer.length-1} is {@code 0}.
+     * </li>
+     * <li> the {@code size - buffer.length} available positions are those in a circular slice that ranges from
+     * {@code nextFree} to {@code first-1}, once again, wrapping around the end of {@code buffer}. Since a
+     * primitive position cannot be {@code null}, available positions keep whatever value they held last
+     * and are never read: whether a position holds an element depends only on {@code first} and
+     * {@code size}.
+     * </li>
+     * </ul>
+     */
+
+    private final int[] buffer; // stores the elements of the bounded queue
+    private int first; // index of the position in buffer that stores the first element in the bounded queue
+    private int nextFree; // index of the first position available in the array buffer
+    private int size; // number of elements in the bounded queue
+
+    /**
+     * Constructs an empty bounded queue with the specified capacity.
+     *
+     * @param capacity the capacity of the bounded queue
+     * @throws IllegalArgumentException if the specified capacity is not positive
+     */
+    public IntBoundedQueue(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("IntBoundedQueue: capacity must be positive");
+        }
+
+        buffer = new int[capacity];
+        first = 0;
+        nextFree = 0;
+        size = 0;
+    }
+
+    /**
+     * Inserts the specified value at the end of this bounded queue.
+     *
+     * @param value the value to be inserted
+     * @throws FullBoundedQueueException is this bounded queue is full
+     */
+    public void put(int value) {
+        if (isFull()) {
+            throw new FullBoundedQueueException("put: full bounded queue");
+        }
+
+        buffer[nextFree] = value;
+        nextFree = advance(nextFree);
+        size++;
+    }
+
+    /**
+     * Returns the first element of this bounded queue.
+     *
+     * @return the first element of this bounded queue
+     * @throws EmptyBoundedQueueException if this bounded queue is empty
+     */
+    public int get() {
+        if (isEmpty()) {
+            throw new EmptyBoundedQueueException("get: empty bounded queue");
+        }
+
+        int item = buffer[first];
+        first = advance(first);
+        size--;
+        return item;
+    }
+
+    private int advance(int index) {
+        int next = index + 1;
+        return next == buffer.length ? 0 : next;
+    }
+
+    /**
+     * Returns {@code true} if this bounded queue is full.
+     *
+     * @return {@code true} if this bounded queue is full, {@code false} otherwise
+     */
+    public boolean isFull() {
+        return size == buffer.length;
+    }
+
+    /**
+     * Returns {@code true} if this bounded queue is empty.
+     *
+     * @return {@code true} if this bounded queue is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in this bounded queue.
+     *
+     * @return the number of elements in this bounded queue
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        return new IntBoundedQueueIterator();
+    }
+
+    private class IntBoundedQueueIterator implements PrimitiveIterator.OfInt {
+
+        private int current; // index of the element to be visited
+        private int visited; // number of visited elements
+
+        public IntBoundedQueueIterator() {
+            current = first;
+            visited = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return visited < size;
+        }
+
+        @Override
+        public int nextInt() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("next: bounded queue iterator exhausted");
+            }
+            int item = buffer[current];
+            current = advance(current);
+            visited++;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package org.mps.boundedqueue;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrent histogram of non-negative {@code long} values with a bounded relative error, in the
+ * style of an HDR histogram: every power of two is split into {@code 8} linear buckets, so a value is
+ * reported with an error of at most {@code 12.5%}. Recording never allocates once the buckets' adders
+ * have expanded under contention.
+ */
+final class LogLinearHistogram {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /**
+     * Number of buckets needed to cover every non-negative {@code long}.
+     */
+    static final int BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+    private final LongAdder[] counts; // counts[i] is the number of recorded values in bucket i
+
+    LogLinearHistogram() {
+        counts = new LongAdder[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * Records a value. Negative values are recorded as {@code 0}.
+     */
+    void record(long value) {
+        counts[bucketIndex(Math.max(0, value))].increment();
+    }
+
+    /**
+     * Returns the current count of every bucket.
+     */
+    long[] snapshot() {
+        long[] snapshot = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    static int bucketIndex(long value) {
+        int bitLength = 64 - Long.numberOfLeadingZeros(value);
+        if (bitLength <= SUB_BUCKET_BITS + 1) {
+            return (int) value;
+        }
+        int shift = bitLength - SUB_BUCKET_BITS - 1;
+        return shift * SUB_BUCKETS + (int) (value >>> shift);
+    }
+
+    static long lowerBound(int index) {
+        if (index < 2 * SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << shift;
+    }
+
+    static long upperBound(int index) {
+        return index == BUCKETS - 1 ? Long.MAX_VALUE : lowerBound(index + 1) - 1;
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the value at the given percentile of a snapshot, or
+     * {@code 0} if the snapshot is empty.
+     */
+    static long valueAtPercentile(long[] snapshot, double percentile) {
+        long total = 0;
+        for (long count : snapshot) {
+            total += count;
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(snapshot.length - 1);
+    }
+}
@@ -0,0 +1,432 @@
+package org.mps.boundedqueue;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A bounded queue of byte arrays stored off-heap in a memory-mapped file, so that its contents survive
+ * a restart of the process.
+ * <p>
+ * The capacity is measured in bytes: every element takes {@code 4 + value.length} bytes of it. Opening
+ * a file that already holds a queue of the same capacity resumes that queue.
+ * </p>
+ * <p>
+ * Whether the operations reach the storage device is decided by the {@link Durability} policy: with
+ * {@link Durability#MANUAL} only {@link #force()} and {@link #close()} flush the mapping, while with
+ * {@link Durability#EVERY_OPERATION} every {@code put} and {@code get} is flushed before it returns.
+ * </p>
+ * <p>
+ * {@link #close()} closes the file, but the JDK offers no supported way to unmap a mapped buffer: the
+ * mapping is only released once the buffers are garbage collected. Until then, the file keeps taking
+ * address space, and on some platforms, such as Windows, it cannot be deleted or truncated.
+ * </p>
+ */
+public class MappedFileBoundedQueue implements BoundedQueue<byte[]>, Closeable {
+
+    /**
+     * <h3>Internal representation:</h3>
+     * <p>
+     * The file starts with a header of {@code HEADER_SIZE} bytes, followed by the circular region
+     * {@code data} of {@code capacity} bytes where the elements are stored as follows:
+     * </p>
+     * <ul>
+     * <li> every element is stored as its length, a little-endian {@code int}, followed by its bytes.
+     * Both may wrap around the end of {@code data}.
+     * </li>
+     * <li> elements are stored in a circular slice of {@code used} bytes that ranges from {@code first} to
+     * {@code nextFree-1}, where the next position is computed using modular arithmetic. There are
+     * {@code size} elements in that slice.
+     * </li>
+     * <li> the header persists {@code first}, {@code nextFree}, {@code used} and {@code size} in two
+     * alternating slots, each one stamped with a sequence number and a checksum of its contents. An
+     * operation writes the element bytes first, and then commits its new state to the slot not holding
+     * the latest state, so the latest state stays intact until the new one is complete.
+     * </li>
+     * <li> on open, the valid slot with the highest sequence is the state of the queue: a slot torn by a
+     * crash fails its checksum and the previous state is used instead, so a crash never exposes a
+     * half-written element. That state is then checked against {@code data}, and a file whose header or
+     * elements are inconsistent is rejected.
+     * </li>
+     * </ul>
+     */
+
+    /**
+     * When the mapped file is flushed to the storage device.
+     */
+    public enum Durability {
+        /**
+         * Only {@link #force()} and {@link #close()} flush the file.
+         */
+        MANUAL,
+        /**
+         * Every {@code put} and {@code get} flushes the file before returning.
+         */
+        EVERY_OPERATION
+    }
+
+    private static final int HEADER_SIZE = 64;
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - HEADER_SIZE;
+    private static final int LENGTH_SIZE = Integer.BYTES;
+    private static final int MAGIC = 0x4D505351; // "MPSQ"
+    private static final int VERSION = 2;
+
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int[] SLOT_OFFSETS = {16, 40}; // the two header slots, of 24 bytes each
+
+    // offsets within a header slot
+    private static final int SEQUENCE_OFFSET = 0;
+    private static final int FIRST_OFFSET = 4;
+    private static final int NEXT_FREE_OFFSET = 8;
+    private static final int USED_OFFSET = 12;
+    private static final int SIZE_OFFSET = 16;
+    private static final int CHECKSUM_OFFSET = 20;
+
+    private final FileChannel channel; // the channel of the mapped file
+    private final MappedByteBuffer header; // the header of the mapped file
+    private final MappedByteBuffer data; // the circular region of the mapped file
+    private final int capacity; // number of bytes of data
+    private final Durability durability; // when the file is flushed
+    private int first; // index of the position in data that stores the first element
+    private int nextFree; // index of the first position available in data
+    private int used; // number of bytes of data taken by the elements
+    private int size; // number of elements in the bounded queue
+    private int sequence; // sequence number of the latest committed header slot
+
+    /**
+     * Opens the bounded queue stored in the specified file, creating it empty if the file does not exist
+     * or is empty. Only {@link #force()} and {@link #close()} flush the file.
+     *
+     * @param file     the file storing the bounded queue
+     * @param capacity the capacity of the bounded queue, in bytes
+     * @throws IllegalArgumentException if the specified capacity is not positive or too large, or the
+     *                                  file holds something other than a bounded queue of that capacity
+     * @throws IOException              if the file cannot be opened or mapped
+     */
+    public MappedFileBoundedQueue(Path file, int capacity) throws IOException {
+        this(file, capacity, Durability.MANUAL);
+    }
+
+    /**
+     * Opens the bounded queue stored in the specified file, creating it empty if the file does not exist
+     * or is empty.
+     *
+     * @param file       the file storing the bounded queue
+     * @param capacity   the capacity of the bounded queue, in bytes
+     * @param durability when the file is flushed to the storage device
+     * @throws IllegalArgumentException if the specified capacity is not positive or too large, or the
+     *                                  file holds something other than a bounded queue of that capacity
+     * @throws IOException              if the file cannot be opened or mapped
+     */
+    public MappedFileBoundedQueue(Path file, int capacity, Durability durability) throws IOException {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("MappedFileBoundedQueue: capacity must be positive and fit in the file");
+        }
+        if (durability == null) {
+            throw new IllegalArgumentException("MappedFileBoundedQueue: durability cannot be null");
+        }
+
+        this.capacity = capacity;
+        this.durability = durability;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            boolean existing = channel.size() > 0;
+            if (existing && channel.size() != (long) HEADER_SIZE + capacity) {
+                throw new IllegalArgumentException("MappedFileBoundedQueue: file holds a queue of a different capacity");
+            }
+            header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            data = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE, capacity);
+            data.order(ByteOrder.LITTLE_ENDIAN);
+            if (existing) {
+                readHeader();
+            } else {
+                header.putInt(MAGIC_OFFSET, MAGIC);
+                header.putInt(VERSION_OFFSET, VERSION);
+                header.putInt(CAPACITY_OFFSET, capacity);
+                writeHeader();
+                header.force();
+            }
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private void readHeader() {
+        if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+            throw new IllegalArgumentException("MappedFileBoundedQueue: file does not hold a bounded queue");
+        }
+        if (header.getInt(CAPACITY_OFFSET) != capacity) {
+            throw new IllegalArgumentException("MappedFileBoundedQueue: file holds a queue of a different capacity");
+        }
+
+        int latest = -1;
+        for (int slot : SLOT_OFFSETS) {
+            if (isValidSlot(slot) && (latest < 0
+                    || header.getInt(slot + SEQUENCE_OFFSET) - header.getInt(latest + SEQUENCE_OFFSET) > 0)) {
+                latest = slot;
+            }
+        }
+        if (latest < 0) {
+            throw new IllegalArgumentException("MappedFileBoundedQueue: file has a corrupt header");
+        }
+        sequence = header.getInt(latest + SEQUENCE_OFFSET);
+        first = header.getInt(latest + FIRST_OFFSET);
+        nextFree = header.getInt(latest + NEXT_FREE_OFFSET);
+        used = header.getInt(latest + USED_OFFSET);
+        size = header.getInt(latest + SIZE_OFFSET);
+        checkState();
+    }
+
+    private boolean isValidSlot(int slot) {
+        return header.getInt(slot + CHECKSUM_OFFSET) == checksum(header.getInt(slot + SEQUENCE_OFFSET),
+                header.getInt(slot + FIRST_OFFSET), header.getInt(slot + NEXT_FREE_OFFSET),
+                header.getInt(slot + USED_OFFSET), header.getInt(slot + SIZE_OFFSET));
+    }
+
+    // rejects a state that does not describe size elements chained from first to nextFree
+    private void checkState() {
+        if (first < 0 || first >= capacity || nextFree < 0 || nextFree >= capacity || used < 0 || used > capacity
+                || size < 0 || size > used / LENGTH_SIZE || wrap(first, used % capacity) != nextFree) {
+            throw new IllegalArgumentException("MappedFileBoundedQueue: file has an inconsistent header");
+        }
+        long remaining = used;
+        int current = first;
+        for (int i = 0; i < size; i++) {
+            int length = readLength(current);
+            if (length < 0 || LENGTH_SIZE + (long) length > remaining) {
+                throw new IllegalArgumentException("MappedFileBoundedQueue: file has a corrupt element");
+            }
+            remaining -= LENGTH_SIZE + length;
+            current = wrap(current, LENGTH_SIZE + length);
+        }
+        if (remaining != 0) {
+            throw new IllegalArgumentException("MappedFileBoundedQueue: file has a corrupt element");
+        }
+    }
+
+    // commits the current state to the slot not holding the latest one
+    private void writeHeader() {
+        sequence++;
+        int slot = SLOT_OFFSETS[sequence & 1];
+        header.putInt(slot + SEQUENCE_OFFSET, sequence);
+        header.putInt(slot + FIRST_OFFSET, first);
+        header.putInt(slot + NEXT_FREE_OFFSET, nextFree);
+        header.putInt(slot + USED_OFFSET, used);
+        header.putInt(slot + SIZE_OFFSET, size);
+        header.putInt(slot + CHECKSUM_OFFSET, checksum(sequence, first, nextFree, used, size));
+    }
+
+    // a hash of the slot fields, seeded so that a zeroed slot does not pass for a valid one
+    private static int checksum(int sequence, int first, int nextFree, int used, int size) {
+        int hash = mix(mix(mix(mix(mix(MAGIC, sequence), first), nextFree), used), size);
+        return hash ^ (hash >>> 15);
+    }
+
+    private static int mix(int hash, int value) {
+        return Integer.rotateLeft(hash ^ value, 13) * 0x5BD1E995;
+    }
+
+    /**
+     * Inserts the specified value at the end of this bounded queue. Its bytes are copied straight into
+     * the mapped file.
+     *
+     * @param value the value to be inserted
+     * @throws FullBoundedQueueException if there are not {@code 4 + value.length} bytes available
+     * @throws IllegalArgumentException  if the value to be inserted is {@code null}, or
+     *                                   {@code 4 + value.length} is greater than the capacity, so that
+     *                                   it would not fit even in the empty bounded queue
+     */
+    @Override
+    public void put(byte[] value) {
+        if (value != null && LENGTH_SIZE + (long) value.length > capacity) {
+            throw new IllegalArgumentException("put: element larger than the capacity");
+        }
+        if (isFull() || (value != null && LENGTH_SIZE + (long) value.length > capacity - used)) {
+            throw new FullBoundedQueueException("put: full bounded queue");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("put: element cannot be null");
+        }
+
+        int start = nextFree;
+        int payload = writeLength(start, value.length);
+        int firstSegment = Math.min(value.length, capacity - payload);
+        data.put(payload, value, 0, firstSegment);
+        data.put(0, value, firstSegment, value.length - firstSegment);
+        if (durability == Durability.EVERY_OPERATION) {
+            forceData(start, LENGTH_SIZE + value.length);
+        }
+
+        nextFree = wrap(payload, value.length);
+        used += LENGTH_SIZE + value.length;
+        size++;
+        publish();
+    }
+
+    /**
+     * Returns the first element of this bounded queue, copied out of the mapped file.
+     *
+     * @return the first element of this bounded queue
+     * @throws EmptyBoundedQueueException if this bounded queue is empty
+     */
+    @Override
+    public byte[] get() {
+        if (isEmpty()) {
+            throw new EmptyBoundedQueueException("get: empty bounded queue");
+        }
+
+        int length = readLength(first);
+        byte[] item = read(wrap(first, LENGTH_SIZE), length);
+        first = wrap(first, LENGTH_SIZE + length);
+        used -= LENGTH_SIZE + length;
+        size--;
+        publish();
+        return item;
+    }
+
+    // updates the header and flushes it if required by the durability policy
+    private void publish() {
+        writeHeader();
+        if (durability == Durability.EVERY_OPERATION) {
+            header.force();
+        }
+    }
+
+    private void forceData(int start, int length) {
+        int firstSegment = Math.min(length, capacity - start);
+        data.force(start, firstSegment);
+        if (firstSegment < length) {
+            data.force(0, length - firstSegment);
+        }
+    }
+
+    // writes the length prefix at index and returns the index where the element bytes start
+    private int writeLength(int index, int length) {
+        if (capacity - index >= LENGTH_SIZE) {
+            data.putInt(index, length);
+        } else {
+            for (int i = 0; i < LENGTH_SIZE; i++) {
+                data.put(wrap(index, i), (byte) (length >>> (8 * i)));
+            }
+        }
+        return wrap(index, LENGTH_SIZE);
+    }
+
+    private int readLength(int index) {
+        if (capacity - index >= LENGTH_SIZE) {
+            return data.getInt(index);
+        }
+        int length = 0;
+        for (int i = 0; i < LENGTH_SIZE; i++) {
+            length |= (data.get(wrap(index, i)) & 0xFF) << (8 * i);
+        }
+        return length;
+    }
+
+    private byte[] read(int index, int length) {
+        byte[] item = new byte[length];
+        int firstSegment = Math.min(length, capacity - index);
+        data.get(index, item, 0, firstSegment);
+        data.get(0, item, firstSegment, length - firstSegment);
+        return item;
+    }
+
+    // index + offset wrapped around data, for 0 <= offset <= capacity
+    private int wrap(int index, int offset) {
+        long next = (long) index + offset;
+        return (int) (next >= capacity ? next - capacity : next);
+    }
+
+    /**
+     * Returns {@code true} if this bounded queue is full, that is, if not even an empty array fits in it.
+     * A non-full bounded queue may still reject a large element.
+     *
+     * @return {@code true} if this bounded queue is full, {@code false} otherwise
+     */
+    @Override
+    public boolean isFull() {
+        return capacity - used < LENGTH_SIZE;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the capacity of this bounded queue.
+     *
+     * @return the number of bytes available for elements and their length prefixes
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Flushes every pending change of this bounded queue to the storage device.
+     */
+    public void force() {
+        data.force();
+        header.force();
+    }
+
+    /**
+     * Flushes this bounded queue and closes its file. The bounded queue must not be used afterwards.
+     * The file stays mapped until the bounded queue is garbage collected.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    @Override
+    public Iterator<byte[]> iterator() {
+        return new MappedFileBoundedQueueIterator();
+    }
+
+    private class MappedFileBoundedQueueIterator implements Iterator<byte[]> {
+
+        private int current; // index of the element to be visited
+        private int visited; // number of visited elements
+
+        public MappedFileBoundedQueueIterator() {
+            current = first;
+            visited = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return visited < size;
+        }
+
+        @Override
+        public byte[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("next: bounded queue iterator exhausted");
+            }
+            int length = readLength(current);
+            byte[] item = read(wrap(current, LENGTH_SIZE), length);
+            current = wrap(current, LENGTH_SIZE + length);
+            visited++;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package org.mps.boundedqueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A lock-free bounded queue for any number of producer and consumer threads, following Dmitry
+ * Vyukov's bounded MPMC queue.
+ * <p>
+ * Besides the {@link BoundedQueue} operations, which keep throwing {@link FullBoundedQueueException}
+ * and {@link EmptyBoundedQueueException}, it offers non-throwing ({@link #offer(Object)},
+ * {@link #poll()}), blocking ({@link #putBlocking(Object)}, {@link #take()}) and timed
+ * ({@link #offer(Object, long, TimeUnit)}, {@link #poll(long, TimeUnit)}) variants. Blocked threads
+ * wait according to the {@link WaitStrategy} given at construction.
+ * </p>
+ *
+ * @param <T> the type of elements held in this bounded queue
+ */
+public class MpmcArrayBoundedQueue<T> implements BoundedQueue<T> {
+
+    /**
+     * <h3>Internal representation:</h3>
+     * <p>
+     * The elements of the bounded queue are stored in the array {@code buffer}, whose length is the
+     * smallest power of two, and at least {@code 2}, not smaller than {@code capacity}, as follows:
+     * </p>
+     * <ul>
+     * <li> {@code head} and {@code tail} are monotonically increasing sequences: producers claim sequence
+     * {@code tail} and consumers claim sequence {@code head} through a compare-and-set. The element with
+     * sequence {@code s} is stored in position {@code s & mask}.
+     * </li>
+     * <li> every position {@code i} has its own sequence {@code sequences[i]}. A position is free for the
+     * producer of sequence {@code s} when it holds {@code s}, and holds the element for the consumer of
+     * sequence {@code s} when it holds {@code s + 1}. After consuming, the consumer sets it to
+     * {@code s + buffer.length}, freeing the position for the next lap.
+     * </li>
+     * <li> the number of elements is {@code tail - head}, which never exceeds {@code capacity}: when
+     * {@code capacity} is smaller than {@code buffer.length}, a producer only claims sequence
+     * {@code tail} if {@code tail - head < capacity}. Otherwise the sequences of the positions alone
+     * enforce it.
+     * </li>
+     * <li> elements cannot be {@code null}, and positions that do not hold an element must be {@code null}.
+     * </li>
+     * </ul>
+     */
+
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final VarHandle SEQUENCES = MethodHandles.arrayElementVarHandle(long[].class);
+    private static final VarHandle BUFFER = MethodHandles.arrayElementVarHandle(Object[].class);
+
+    private final Object[] buffer; // stores the elements of the bounded queue
+    private final long[] sequences; // per-position sequences, accessed through SEQUENCES
+    private final int mask; // buffer.length - 1
+    private final int capacity; // maximum number of elements in the bounded queue
+    private final PaddedSequence head; // sequence of the next element to get
+    private final PaddedSequence tail; // sequence of the next element to put
+    private final WaitStrategy waitStrategy; // how blocked threads wait
+
+    /**
+     * Constructs an empty bounded queue with the specified capacity. Blocked threads back off from
+     * spinning to parking.
+     *
+     * @param capacity the capacity of the bounded queue
+     * @throws IllegalArgumentException if the specified capacity is not positive or greater than
+     *                                  {@code 2^30}
+     */
+    public MpmcArrayBoundedQueue(int capacity) {
+        this(capacity, WaitStrategy.backingOff(TimeUnit.MILLISECONDS.toNanos(1)));
+    }
+
+    /**
+     * Constructs an empty bounded queue with the specified capacity.
+     *
+     * @param capacity     the capacity of the bounded queue
+     * @param waitStrategy how threads wait in blocking and timed operations
+     * @throws IllegalArgumentException if the specified capacity is not positive or greater than
+     *                                  {@code 2^30}, or the wait strategy is {@code null}
+     */
+    public MpmcArrayBoundedQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("MpmcArrayBoundedQueue: capacity must be positive and at most 2^30");
+        }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("MpmcArrayBoundedQueue: wait strategy cannot be null");
+        }
+
+        // with a single position, a free sequence and a published one cannot be told apart
+        int length = Math.max(2, SpscArrayBoundedQueue.ceilingPowerOfTwo(capacity));
+        buffer = new Object[length];
+        sequences = new long[length];
+        for (int i = 0; i < length; i++) {
+            sequences[i] = i;
+        }
+        mask = length - 1;
+        this.capacity = capacity;
+        head = new PaddedSequence(0);
+        tail = new PaddedSequence(0);
+        this.waitStrategy = waitStrategy;
+        VarHandle.releaseFence();
+    }
+
+    /**
+     * Inserts the specified value at the end of this bounded queue if there is room for it.
+     *
+     * @param value the value to be inserted
+     * @return {@code true} if the value was inserted, {@code false} if this bounded queue is full
+     * @throws IllegalArgumentException if the value to be inserted is {@code null}
+     */
+    public boolean offer(T value) {
+        if (value == null) {
+            throw new IllegalArgumentException("offer: element cannot be null");
+        }
+
+        while (true) {
+            long t = tail.getAcquire();
+            int index = (int) t & mask;
+            long difference = (long) SEQUENCES.getAcquire(sequences, index) - t;
+            if (difference == 0) {
+                if (capacity != buffer.length && t - head.getAcquire() >= capacity) {
+                    return false;
+                }
+                if (tail.compareAndSet(t, t + 1)) {
+                    BUFFER.set(buffer, index, value);
+                    SEQUENCES.setRelease(sequences, index, t + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                return false;
+            }
+            // else another producer claimed sequence t, retry with the new tail
+        }
+    }
+
+    /**
+     * Removes and returns the first element of this bounded queue if there is one.
+     *
+     * @return the first element of this bounded queue, or {@code null} if it is empty
+     */
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        while (true) {
+            long h = head.getAcquire();
+            int index = (int) h & mask;
+            long difference = (long) SEQUENCES.getAcquire(sequences, index) - (h + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(h, h + 1)) {
+                    T item = (T) BUFFER.get(buffer, index);
+                    BUFFER.set(buffer, index, null);
+                    SEQUENCES.setRelease(sequences, index, h + buffer.length);
+                    return item;
+                }
+            } else if (difference < 0) {
+                return null;
+            }
+            // else another consumer claimed sequence h, retry with the new head
+        }
+    }
+
+    /**
+     * Inserts the specified value at the end of this bounded queue, waiting for room if necessary.
+     *
+     * @param value the value to be inserted
+     * @throws IllegalArgumentException if the value to be inserted is {@code null}
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     */
+    public void putBlocking(T value) throws InterruptedException {
+        for (int attempt = 0; !offer(value); attempt++) {
+            waitStrategy.idle(attempt);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("putBlocking: interrupted");
+            }
+        }
+    }
+
+    /**
+     * Removes and returns the first element of this bounded queue, waiting for one if necessary.
+     *
+     * @return the first element of this bounded queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T take() throws InterruptedException {
+        T item;
+        for (int attempt = 0; (item = poll()) == null; attempt++) {
+            waitStrategy.idle(attempt);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("take: interrupted");
+            }
+        }
+        return item;
+    }
+
+    /**
+     * Inserts the specified value at the end of this bounded queue, waiting up to the specified time
+     * for room if necessary.
+     *
+     * @param value   the value to be inserted
+     * @param timeout how long to wait before giving up
+     * @param unit    the unit of {@code timeout}
+     * @return {@code true} if the value was inserted, {@code false} if the time elapsed first
+     * @throws IllegalArgumentException if the value to be inserted is {@code null}
+     * @throws InterruptedException     if the thread is interrupted while waiting
+     */
+    public boolean offer(T value, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (int attempt = 0; !offer(value); attempt++) {
+            if (deadline - System.nanoTime() <= 0) {
+                return false;
+            }
+            waitStrategy.idle(attempt);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("offer: interrupted");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes and returns the first element of this bounded queue, waiting up to the specified time
+     * for one if necessary.
+     *
+     * @param timeout how long to wait before giving up
+     * @param unit    the unit of {@code timeout}
+     * @return the first element of this bounded queue, or {@code null} if the time elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public T poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        T item;
+        for (int attempt = 0; (item = poll()) == null; attempt++) {
+            if (deadline - System.nanoTime() <= 0) {
+                return null;
+            }
+            waitStrategy.idle(attempt);
+            if (Thread.interrupted()) {
+                throw new InterruptedException("poll: interrupted");
+            }
+        }
+        return item;
+    }
+
+    @Override
+    public void put(T value) {
+        if (value == null) {
+            if (isFull()) {
+                throw new FullBoundedQueueException("put: full bounded queue");
+            }
+            throw new IllegalArgumentException("put: element cannot be null");
+        }
+        if (!offer(value)) {
+            throw new FullBoundedQueueException("put: full bounded queue");
+        }
+    }
+
+    @Override
+    public T get() {
+        T item = poll();
+        if (item == null) {
+            throw new EmptyBoundedQueueException("get: empty bounded queue");
+        }
+        return item;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Concurrent producers may interleave their values with the ones of the slice.
+     * </p>
+     */
+    @Override
+    public int putAll(T[] src, int off, int len) {
+        Objects.checkFromIndexSize(off, len, src.length);
+        BoundedQueues.checkNoNulls(src, off, len, "putAll");
+
+        int transferred = 0;
+        while (transferred < len && offer(src[off + transferred])) {
+            transferred++;
+        }
+        return transferred;
+    }
+
+    @Override
+    public int drainTo(Collection<? super T> dst, int max) {
+        BoundedQueues.checkDrainTarget(this, dst, max);
+
+        int transferred = 0;
+        T item;
+        while (transferred < max && (item = poll()) != null) {
+            dst.add(item);
+            transferred++;
+        }
+        return transferred;
+    }
+
+    @Override
+    public int drainTo(T[] dst) {
+        int transferred = 0;
+        T item;
+        while (transferred < dst.length && (item = poll()) != null) {
+            dst[transferred] = item;
+            transferred++;
+        }
+        return transferred;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        // a concurrent put/get can leave the difference momentarily out of bounds
+        long h = head.getAcquire();
+        long t = tail.getAcquire();
+        return (int) Math.max(0, Math.min(t - h, capacity));
+    }
+
+    /**
+     * Returns the capacity of this bounded queue.
+     *
+     * @return the maximum number of elements this bounded queue can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns a weakly consistent iterator: it visits the elements that were in this bounded queue when
+     * the iterator was created and that have not been taken since, and never throws
+     * {@link java.util.ConcurrentModificationException}.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new MpmcArrayBoundedQueueIterator();
+    }
+
+    private class MpmcArrayBoundedQueueIterator implements Iterator<T> {
+
+        private long current; // sequence of the next candidate element
+        private final long end; // sequence following the last element to be visited
+        private T nextItem; // element to be returned by next(), or null if not looked up yet
+
+        public MpmcArrayBoundedQueueIterator() {
+            current = head.getAcquire();
+            end = tail.getAcquire();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean hasNext() {
+            while (nextItem == null && current < end) {
+                int index = (int) current & mask;
+                long expected = current + 1;
+                if ((long) SEQUENCES.getAcquire(sequences, index) == expected) {
+                    T item = (T) BUFFER.getAcquire(buffer, index);
+                    if ((long) SEQUENCES.getAcquire(sequences, index) == expected) {
+                        nextItem = item;
+                    }
+                }
+                current++;
+            }
+            return nextItem != null;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("next: bounded queue iterator exhausted");
+            }
+            T item = nextItem;
+            nextItem = null;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.mps.boundedqueue;
+
+/**
+ * What a bounded queue does when a value is inserted while it is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * The value is rejected with a {@link FullBoundedQueueException}.
+     */
+    REJECT,
+    /**
+     * The first (oldest) element is discarded to make room for the value.
+     */
+    OVERWRITE_OLDEST,
+    /**
+     * The value is silently discarded.
+     */
+    DROP_NEWEST
+}
@@ -0,0 +1,79 @@
+package org.mps.boundedqueue;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A {@code long} sequence counter padded on both sides so that it never shares a cache line with
+ * another hot field. The padding is laid out through the class hierarchy because the JVM keeps
+ * superclass fields before subclass fields, whereas it may reorder the fields of a single class.
+ * <p>
+ * Besides the shared {@code value}, every sequence holds a plain {@code cache} that is only touched by
+ * the thread owning the sequence, and is used to remember the last observed value of the opposite
+ * sequence.
+ * </p>
+ */
+final class PaddedSequence extends SequenceRhsPadding {
+
+    PaddedSequence(long initialValue) {
+        VALUE.setRelease(this, initialValue);
+    }
+
+    /**
+     * Returns the value with plain semantics. Only safe from the thread owning the sequence.
+     */
+    long getPlain() {
+        return (long) VALUE.get(this);
+    }
+
+    long getAcquire() {
+        return (long) VALUE.getAcquire(this);
+    }
+
+    /**
+     * Publishes a new value: every write done before this call is visible to a thread that
+     * observes the new value through {@link #getAcquire()}.
+     */
+    void setRelease(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+
+    long getVolatile() {
+        return (long) VALUE.getVolatile(this);
+    }
+
+    /**
+     * Sets a new value with volatile semantics, so that no later read is reordered before it.
+     */
+    void setVolatile(long newValue) {
+        VALUE.setVolatile(this, newValue);
+    }
+
+    boolean compareAndSet(long expected, long newValue) {
+        return VALUE.compareAndSet(this, expected, newValue);
+    }
+}
+
+abstract class SequenceLhsPadding {
+    long p01, p02, p03, p04, p05, p06, p07;
+}
+
+abstract class SequenceValue extends SequenceLhsPadding {
+
+    static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    volatile long value; // the shared counter, accessed through VALUE
+    long cache; // last observed value of the opposite sequence, owned by a single thread
+}
+
+abstract class SequenceRhsPadding extends SequenceValue {
+    long p11, p12, p13, p14, p15, p16, p17;
+}
@@ -0,0 +1,122 @@
+package org.mps.boundedqueue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Array bounded queue whose positions are computed by masking instead of by comparing and wrapping.
+ * Instances are created through {@link ArrayBoundedQueue#withPowerOfTwoCapacity(int)}, which lists how
+ * it differs from {@link ArrayBoundedQueue}.
+ *
+ * @param <T> the type of elements held in this bounded queue
+ */
+final class PowerOfTwoArrayBoundedQueue<T> implements BoundedQueue<T> {
+
+    /**
+     * <h3>Internal representation:</h3>
+     * <p>
+     * The elements of the bounded queue are stored in the array {@code buffer}, whose length is the
+     * smallest power of two not smaller than {@code capacity}, as follows:
+     * </p>
+     * <ul>
+     * <li> {@code head} and {@code tail} are monotonically increasing sequences: {@code head} counts the
+     * elements ever taken and {@code tail} the elements ever inserted. The number of elements is
+     * {@code tail - head}, which never exceeds {@code capacity}.
+     * </li>
+     * <li> the element with sequence {@code s} is stored in position {@code s & mask}. Elements cannot be
+     * {@code null}, and positions that do not hold an element must be {@code null}.
+     * </li>
+     * </ul>
+     */
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final T[] buffer; // stores the elements of the bounded queue
+    private final int mask; // buffer.length - 1
+    private final int capacity; // maximum number of elements in the bounded queue
+    private long head; // sequence of the first element in the bounded queue
+    private long tail; // sequence of the next element to be inserted
+
+    @SuppressWarnings("unchecked")
+    PowerOfTwoArrayBoundedQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("ArrayBoundedException: capacity must be positive and at most 2^30");
+        }
+
+        this.capacity = capacity;
+        buffer = (T[]) new Object[SpscArrayBoundedQueue.ceilingPowerOfTwo(capacity)];
+        mask = buffer.length - 1;
+        head = 0;
+        tail = 0;
+    }
+
+    @Override
+    public void put(T value) {
+        if (isFull()) {
+            throw new FullBoundedQueueException("put: full bounded queue");
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("put: element cannot be null");
+        }
+
+        buffer[(int) tail & mask] = value;
+        tail++;
+    }
+
+    @Override
+    public T get() {
+        if (isEmpty()) {
+            throw new EmptyBoundedQueueException("get: empty bounded queue");
+        }
+
+        int index = (int) head & mask;
+        T item = buffer[index];
+        buffer[index] = null;
+        head++;
+        return item;
+    }
+
+    @Override
+    public boolean isFull() {
+        return tail - head == capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return tail == head;
+    }
+
+    @Override
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new PowerOfTwoArrayBoundedQueueIterator();
+    }
+
+    private class PowerOfTwoArrayBoundedQueueIterator implements Iterator<T> {
+
+        private long current; // sequence of the element to be visited
+
+        public PowerOfTwoArrayBoundedQueueIterator() {
+            current = head;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < tail;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("next: bounded queue iterator exhausted");
+            }
+            T item = buffer[(int) current & mask];
+            current++;
+            return item;
+        }
+    }
+}
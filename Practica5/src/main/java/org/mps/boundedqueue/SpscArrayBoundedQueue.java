@@ -0,0 +1,163 @@
+package org.mps.boundedqueue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A lock-free bounded queue for exactly one producer thread and one consumer thread.
+ * <p>
+ * Only one thread may call {@link #put(Object)} and only one (possibly different) thread may call
+ * {@link #get()}. {@link #isFull()}, {@link #isEmpty()} and {@link #size()} may be called from any
+ * thread, but their result is only a snapshot. The iterator is only consistent when used from the
+ * consumer thread.
+ * </p>
+ *
+ * @param <T> the type of elements held in this bounded queue
+ */
+public class SpscArrayBoundedQueue<T> implements BoundedQueue<T> {
+
+    /**
+     * <h3>Internal representation:</h3>
+     * <p>
+     * The elements of the bounded queue are stored in the array {@code buffer}, whose length is the
+     * smallest power of two not smaller than {@code capacity}, as follows:
+     * </p>
+     * <ul>
+     * <li> {@code head} and {@code tail} are monotonically increasing sequences: {@code head} counts the
+     * elements taken by the consumer and {@code tail} the elements published by the producer. The number
+     * of elements is {@code tail - head}, which never exceeds {@code capacity}.
+     * </li>
+     * <li> the element with sequence {@code s} is stored in position {@code s & mask}. Elements cannot be
+     * {@code null}, and positions that do not hold an element must be {@code null}.
+     * </li>
+     * <li> the producer writes the element before publishing {@code tail} with release semantics, and the
+     * consumer clears the position before publishing {@code head} with release semantics, so neither
+     * thread ever observes a half-done operation of the other.
+     * </li>
+     * </ul>
+     */
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private final T[] buffer; // stores the elements of the bounded queue
+    private final int mask; // buffer.length - 1
+    private final int capacity; // maximum number of elements in the bounded queue
+    private final PaddedSequence head; // sequence of the next element to get, cache holds the last seen tail
+    private final PaddedSequence tail; // sequence of the next element to put, cache holds the last seen head
+
+    /**
+     * Constructs an empty bounded queue with the specified capacity.
+     *
+     * @param capacity the capacity of the bounded queue
+     * @throws IllegalArgumentException if the specified capacity is not positive or greater than
+     *                                  {@code 2^30}
+     */
+    @SuppressWarnings("unchecked")
+    public SpscArrayBoundedQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("SpscArrayBoundedQueue: capacity must be positive and at most 2^30");
+        }
+
+        this.capacity = capacity;
+        buffer = (T[]) new Object[ceilingPowerOfTwo(capacity)];
+        mask = buffer.length - 1;
+        head = new PaddedSequence(0);
+        tail = new PaddedSequence(0);
+    }
+
+    static int ceilingPowerOfTwo(int value) {
+        return value == 1 ? 1 : Integer.highestOneBit(value - 1) << 1;
+    }
+
+    @Override
+    public void put(T value) {
+        long t = tail.getPlain();
+        if (t - tail.cache >= capacity) {
+            tail.cache = head.getAcquire();
+            if (t - tail.cache >= capacity) {
+                throw new FullBoundedQueueException("put: full bounded queue");
+            }
+        }
+        if (value == null) {
+            throw new IllegalArgumentException("put: element cannot be null");
+        }
+
+        buffer[(int) t & mask] = value;
+        tail.setRelease(t + 1);
+    }
+
+    @Override
+    public T get() {
+        long h = head.getPlain();
+        if (h >= head.cache) {
+            head.cache = tail.getAcquire();
+            if (h >= head.cache) {
+                throw new EmptyBoundedQueueException("get: empty bounded queue");
+            }
+        }
+
+        int index = (int) h & mask;
+        T item = buffer[index];
+        buffer[index] = null;
+        head.setRelease(h + 1);
+        return item;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() == capacity;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public int size() {
+        // head is read first so that a concurrent put/get cannot make the difference negative
+        long h = head.getAcquire();
+        long t = tail.getAcquire();
+        return (int) Math.min(t - h, capacity);
+    }
+
+    /**
+     * Returns the capacity of this bounded queue.
+     *
+     * @return the maximum number of elements this bounded queue can hold
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new SpscArrayBoundedQueueIterator();
+    }
+
+    private class SpscArrayBoundedQueueIterator implements Iterator<T> {
+
+        private long current; // sequence of the element to be visited
+        private final long end; // sequence following the last element to be visited
+
+        public SpscArrayBoundedQueueIterator() {
+            current = head.getAcquire();
+            end = tail.getAcquire();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < end;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("next: bounded queue iterator exhausted");
+            }
+            T item = buffer[(int) current & mask];
+            current++;
+            return item;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.mps.boundedqueue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Decides what a thread does while it waits for a blocking operation of a bounded queue to become
+ * possible, that is, for a full queue to have room or for an empty queue to have an element.
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * Waits a little before the caller retries its operation.
+     *
+     * @param attempt number of failed attempts so far, starting at {@code 0}
+     */
+    void idle(int attempt);
+
+    /**
+     * Busy-spins without giving up the processor. Lowest latency, but a waiting thread burns a whole core.
+     *
+     * @return a spinning wait strategy
+     */
+    static WaitStrategy spinning() {
+        return attempt -> Thread.onSpinWait();
+    }
+
+    /**
+     * Gives up the processor to other runnable threads on every attempt.
+     *
+     * @return a yielding wait strategy
+     */
+    static WaitStrategy yielding() {
+        return attempt -> Thread.yield();
+    }
+
+    /**
+     * Parks the waiting thread for the given amount of time on every attempt. Parking is the only
+     * strategy that releases the carrier of a virtual thread.
+     *
+     * @param time the time to park on every attempt
+     * @param unit the unit of {@code time}
+     * @return a parking wait strategy
+     * @throws IllegalArgumentException if {@code time} is not positive
+     */
+    static WaitStrategy parking(long time, TimeUnit unit) {
+        if (time <= 0) {
+            throw new IllegalArgumentException("parking: time must be positive");
+        }
+        final long nanos = unit.toNanos(time);
+        return attempt -> LockSupport.parkNanos(nanos);
+    }
+
+    /**
+     * Spins for a few attempts, then yields for a few more, and finally parks for an exponentially
+     * growing time bounded by {@code maxParkNanos}. Short waits stay cheap while long waits neither
+     * burn a core nor pin the carrier of a virtual thread.
+     *
+     * @param maxParkNanos maximum time to park on a single attempt, in nanoseconds
+     * @return a backing-off wait strategy
+     * @throws IllegalArgumentException if {@code maxParkNanos} is not positive
+     */
+    static WaitStrategy backingOff(long maxParkNanos) {
+        if (maxParkNanos <= 0) {
+            throw new IllegalArgumentException("backingOff: maxParkNanos must be positive");
+        }
+        return attempt -> {
+            if (attempt < 64) {
+                Thread.onSpinWait();
+            } else if (attempt < 128) {
+                Thread.yield();
+            } else {
+                int shift = Math.min(attempt - 128, 20);
+                LockSupport.parkNanos(Math.min(1_000L << shift, maxParkNanos));
+            }
+        };
+    }
+}
@@ -0,0 +1,186 @@
+package org.mps.boundedqueue;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A fixed-size executor whose tasks are only ever queued in bounded structures, so that a burst of
+ * submissions is rejected instead of growing the memory without limit.
+ * <p>
+ * Every worker owns a {@link ChaseLevBoundedDeque}: tasks submitted from a worker are pushed to its own
+ * deque and run in LIFO order, which keeps recursive fan-outs depth-first. Tasks submitted from other
+ * threads go through a shared {@link MpmcArrayBoundedQueue}. An idle worker takes tasks from its own
+ * deque, then from the shared queue, and then steals from the deques of the other workers starting at a
+ * random victim.
+ * </p>
+ * <p>
+ * {@link #execute(Runnable)} throws {@link RejectedExecutionException} when the queue the task would go
+ * to is full, that is, when both the deque of the submitting worker and the shared queue are full, or
+ * the shared queue is full for an external thread. Workers are daemon threads.
+ * </p>
+ */
+public class WorkStealingExecutor implements Executor, AutoCloseable {
+
+    private final Worker[] workers; // the worker threads, each one owning its deque
+    private final MpmcArrayBoundedQueue<Runnable> submissions; // tasks submitted from outside
+    private final AtomicLong pending; // number of tasks accepted and not finished yet
+    private final WaitStrategy waitStrategy; // how idle workers wait for tasks
+    private volatile boolean closed; // whether external submissions are rejected
+
+    /**
+     * Constructs and starts an executor with the specified number of workers.
+     *
+     * @param parallelism the number of worker threads
+     * @param capacity    the capacity of every worker deque and of the shared submission queue
+     * @throws IllegalArgumentException if either argument is not positive or the capacity is greater
+     *                                  than {@code 2^30}
+     */
+    public WorkStealingExecutor(int parallelism, int capacity) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("WorkStealingExecutor: parallelism must be positive");
+        }
+
+        submissions = new MpmcArrayBoundedQueue<>(capacity);
+        pending = new AtomicLong();
+        waitStrategy = WaitStrategy.backingOff(TimeUnit.MILLISECONDS.toNanos(1));
+        workers = new Worker[parallelism];
+        for (int i = 0; i < parallelism; i++) {
+            workers[i] = new Worker(i, new ChaseLevBoundedDeque<>(capacity));
+        }
+        for (Worker worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Queues the specified task to be run by some worker. Once the executor is closed, only its own
+     * workers may still submit tasks, so that running tasks can complete their fan-out.
+     *
+     * @param task the task to be run
+     * @throws NullPointerException       if the task is {@code null}
+     * @throws RejectedExecutionException if the executor is closed and the caller is not one of its
+     *                                    workers, or the task does not fit. Each case has its own
+     *                                    message
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (task == null) {
+            throw new NullPointerException("execute: task cannot be null");
+        }
+
+        // pending is raised before closed is read, so that the workers cannot stop in between
+        pending.incrementAndGet();
+        String rejection = null;
+        if (Thread.currentThread() instanceof Worker worker && worker.executor() == this) {
+            if (!worker.deque.push(task) && !submissions.offer(task)) {
+                rejection = "execute: every queue is full";
+            }
+        } else if (closed) {
+            rejection = "execute: executor is closed";
+        } else if (!submissions.offer(task)) {
+            rejection = "execute: every queue is full";
+        }
+        if (rejection != null) {
+            pending.decrementAndGet();
+            throw new RejectedExecutionException(rejection);
+        }
+    }
+
+    /**
+     * Returns the number of worker threads.
+     *
+     * @return the parallelism of this executor
+     */
+    public int parallelism() {
+        return workers.length;
+    }
+
+    /**
+     * Rejects further external submissions, waits until every accepted task has finished, and stops
+     * the workers. Returns early, with the interrupt status set, if the calling thread is interrupted.
+     * <p>
+     * When called from a task running on one of the workers, it only rejects further external
+     * submissions and returns at once: waiting there would never end, since the calling task is itself
+     * one of the accepted tasks. The workers still stop once every accepted task has finished.
+     * </p>
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (Thread.currentThread() instanceof Worker worker && worker.executor() == this) {
+            return;
+        }
+        try {
+            for (Worker worker : workers) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private final class Worker extends Thread {
+
+        private final int index; // position of this worker in workers
+        private final ChaseLevBoundedDeque<Runnable> deque; // tasks submitted by this worker
+
+        Worker(int index, ChaseLevBoundedDeque<Runnable> deque) {
+            super("work-stealing-worker-" + index);
+            this.index = index;
+            this.deque = deque;
+            setDaemon(true);
+        }
+
+        WorkStealingExecutor executor() {
+            return WorkStealingExecutor.this;
+        }
+
+        @Override
+        public void run() {
+            int attempt = 0;
+            while (true) {
+                Runnable task = findTask();
+                if (task != null) {
+                    attempt = 0;
+                    runTask(task);
+                } else if (closed && pending.get() == 0) {
+                    return;
+                } else {
+                    waitStrategy.idle(attempt);
+                    attempt = Math.min(attempt + 1, 1024);
+                }
+            }
+        }
+
+        private Runnable findTask() {
+            Runnable task = deque.pop();
+            if (task == null) {
+                task = submissions.poll();
+            }
+            if (task == null && workers.length > 1) {
+                int start = ThreadLocalRandom.current().nextInt(workers.length);
+                for (int i = 0; i < workers.length && task == null; i++) {
+                    int victim = (start + i) % workers.length;
+                    if (victim != index) {
+                        task = workers[victim].deque.steal();
+                    }
+                }
+            }
+            return task;
+        }
+
+        private void runTask(Runnable task) {
+            try {
+                task.run();
+            } catch (Throwable e) {
+                // a failing task must not take its worker down
+                getUncaughtExceptionHandler().uncaughtException(this, e);
+            } finally {
+                pending.decrementAndGet();
+            }
+        }
+    }
+}
@@ -6,7 +6,12 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.stream.StreamSupport;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -108,6 +113,58 @@ import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
  *             </li>
  *         </ul>
  *     </li>
+ *     <li>
+ *         <b>Batch operations:</b>
+ *         <ul>
+ *             <li>
+ *                 Given the queue [- - {4}] (4), when putting the values 1, 2, 3 at once,
+ *                 only 1 and 2 are inserted, looping to the beginning of the buffer.
+ *             </li>
+ *             <li>
+ *                 Given a slice containing a null value, when putting it at once,
+ *                 an {@link IllegalArgumentException} is thrown and nothing is inserted.
+ *             </li>
+ *             <li>
+ *                 Given the queue [7 9 {4}] (4 -> 7 -> 9), when draining it into a collection,
+ *                 the elements are transferred in order and the buffer only holds {@code null}.
+ *             </li>
+ *             <li>
+ *                 Given the queue [7 - {4}] (4 -> 7), when draining it into an array of length 1,
+ *                 only 4 is transferred and the <i>first</i> attribute loops to {@code 0}.
+ *             </li>
+ *             <li>Given a negative maximum, when draining, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>
+ *                 Given the queue [7 - {4}] (4 -> 7), when resetting it, the buffer only holds {@code null}
+ *                 and both <i>first</i> and <i>nextFree</i> go back to {@code 0}.
+ *             </li>
+ *         </ul>
+ *     </li>
+ *     <li>
+ *         <b>Overflow policies, given the full queue [{4} 7 9] (4 -> 7 -> 9):</b>
+ *         <ul>
+ *             <li>when putting 1 with {@link OverflowPolicy#OVERWRITE_OLDEST}, 4 is dropped and the queue becomes [1 {7} 9].</li>
+ *             <li>when putting 1 with {@link OverflowPolicy#DROP_NEWEST}, 1 is dropped and the queue does not change.</li>
+ *             <li>
+ *                 when putting 1, 2, 3, 5 at once with {@link OverflowPolicy#OVERWRITE_OLDEST}, only the last three
+ *                 values remain and four elements are dropped.
+ *             </li>
+ *             <li>when putting 1, 2 at once with {@link OverflowPolicy#DROP_NEWEST}, nothing is inserted and two values are dropped.</li>
+ *             <li>when putting a null element with any policy, an {@link IllegalArgumentException} is thrown.</li>
+ *         </ul>
+ *     </li>
+ *     <li>
+ *         <b>Fail-fast traversal and bulk views, given the queue [7 - {4}] (4 -> 7):</b>
+ *         <ul>
+ *             <li>when putting a value while iterating, a {@link ConcurrentModificationException} is thrown.</li>
+ *             <li>when getting a value inside {@code forEach}, a {@link ConcurrentModificationException} is thrown.</li>
+ *             <li>when traversing it with {@code forEach}, the elements are visited in order.</li>
+ *             <li>
+ *                 when splitting its spliterator, the split happens where the elements wrap around
+ *                 the end of the buffer.
+ *             </li>
+ *             <li>when streaming it in parallel, every element is processed.</li>
+ *         </ul>
+ *     </li>
  * </ul>
  */
 class ArrayBoundedQueueTest {
@@ -551,4 +608,245 @@ class ArrayBoundedQueueTest {
                     .isEqualTo(0);
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    @DisplayName("Batch operations:")
+    class BatchOperations {
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(queue, "first", 2);
+            ReflectionTestUtils.setField(queue, "nextFree", 2);
+            queue.put(4);
+        }
+
+        @Test
+        @DisplayName("Given the queue [- - {4}] (4), when putting the values 1, 2, 3 at once, " +
+                "only 1 and 2 are inserted, looping to the beginning of the buffer.")
+        void putAllLoops() {
+            Integer[] values = {0, 1, 2, 3};
+
+            int transferred = queue.putAll(values, 1, 3);
+
+            assertThat(transferred).as("Only two values should fit").isEqualTo(2);
+            assertThat(queue.isFull()).as("The queue should be full").isTrue();
+            assertThat(queue).containsExactly(4, 1, 2);
+            assertThat(ReflectionTestUtils.getField(queue, "nextFree"))
+                    .as("The *nextFree* position should be on index 2")
+                    .isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("Given a slice containing a null value, when putting it at once, " +
+                "an IllegalArgumentException is thrown and nothing is inserted.")
+        void putAllWithNullFails() {
+            Integer[] values = {1, null};
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue.putAll(values, 0, 2))
+                    .withMessage("putAll: element cannot be null");
+            assertThat(queue).containsExactly(4);
+        }
+
+        @Test
+        @DisplayName("Given the queue [7 9 {4}] (4 -> 7 -> 9), when draining it into a collection, " +
+                "the elements are transferred in order and the buffer only holds null.")
+        void drainToCollection() {
+            queue.put(7);
+            queue.put(9);
+            List<Integer> drained = new ArrayList<>();
+
+            int transferred = queue.drainTo(drained, 5);
+
+            assertThat(transferred).isEqualTo(3);
+            assertThat(drained).containsExactly(4, 7, 9);
+            assertThat(queue.isEmpty()).as("The queue should be empty").isTrue();
+            Object[] buffer = (Object[]) ReflectionTestUtils.getField(queue, "buffer");
+            assertThat(buffer).as("All elements of the buffer should be null").containsOnlyNulls();
+        }
+
+        @Test
+        @DisplayName("Given the queue [7 - {4}] (4 -> 7), when draining it into an array of length 1, " +
+                "only 4 is transferred and the *first* attribute loops to 0.")
+        void drainToArray() {
+            queue.put(7);
+            Integer[] drained = new Integer[1];
+
+            int transferred = queue.drainTo(drained);
+
+            assertThat(transferred).isEqualTo(1);
+            assertThat(drained).containsExactly(4);
+            assertThat(queue).containsExactly(7);
+            assertThat(ReflectionTestUtils.getField(queue, "first"))
+                    .as("The *first* position should be on index 0")
+                    .isEqualTo(0);
+        }
+
+        @Test
+        @DisplayName("Given a negative maximum, when draining, an IllegalArgumentException is thrown.")
+        void drainToWithNegativeMaxFails() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue.drainTo(new ArrayList<>(), -1))
+                    .withMessage("drainTo: max cannot be negative");
+        }
+
+        @Test
+        @DisplayName("Given the queue [7 - {4}] (4 -> 7), when resetting it, the buffer only holds null " +
+                "and both first and nextFree go back to 0.")
+        void reset() {
+            queue.put(7);
+
+            queue.reset();
+
+            assertThat(queue.isEmpty()).as("The queue should be empty").isTrue();
+            assertThat((Object[]) ReflectionTestUtils.getField(queue, "buffer")).containsOnlyNulls();
+            assertThat(ReflectionTestUtils.getField(queue, "first")).isEqualTo(0);
+            assertThat(ReflectionTestUtils.getField(queue, "nextFree")).isEqualTo(0);
+            queue.put(1);
+            assertThat(queue).containsExactly(1);
+        }
+    }
+
+    @Nested
+    @DisplayName("Overflow policies, given the full queue [{4} 7 9] (4 -> 7 -> 9):")
+    class OverflowPolicies {
+
+        private ArrayBoundedQueue<Integer> fullQueue(OverflowPolicy policy) {
+            ArrayBoundedQueue<Integer> full = new ArrayBoundedQueue<>(3, policy);
+            full.put(4);
+            full.put(7);
+            full.put(9);
+            return full;
+        }
+
+        @Test
+        @DisplayName("when putting 1 with OVERWRITE_OLDEST, 4 is dropped and the queue becomes [1 {7} 9].")
+        void overwriteOldest() {
+            ArrayBoundedQueue<Integer> full = fullQueue(OverflowPolicy.OVERWRITE_OLDEST);
+
+            full.put(1);
+
+            assertThat(full).containsExactly(7, 9, 1);
+            assertThat(full.isFull()).as("The queue should still be full").isTrue();
+            assertThat(full.droppedCount()).isEqualTo(1);
+            assertThat(ReflectionTestUtils.getField(full, "first"))
+                    .as("The *first* position should be on index 1")
+                    .isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("when putting 1 with DROP_NEWEST, 1 is dropped and the queue does not change.")
+        void dropNewest() {
+            ArrayBoundedQueue<Integer> full = fullQueue(OverflowPolicy.DROP_NEWEST);
+
+            full.put(1);
+
+            assertThat(full).containsExactly(4, 7, 9);
+            assertThat(full.droppedCount()).isEqualTo(1);
+        }
+
+        @Test
+        @DisplayName("when putting 1, 2, 3, 5 at once with OVERWRITE_OLDEST, " +
+                "only the last three values remain and four elements are dropped.")
+        void putAllOverwritesOldest() {
+            ArrayBoundedQueue<Integer> full = fullQueue(OverflowPolicy.OVERWRITE_OLDEST);
+
+            int transferred = full.putAll(new Integer[]{1, 2, 3, 5}, 0, 4);
+
+            assertThat(transferred).isEqualTo(3);
+            assertThat(full).containsExactly(2, 3, 5);
+            assertThat(full.droppedCount()).isEqualTo(4);
+        }
+
+        @Test
+        @DisplayName("when putting 1, 2 at once with DROP_NEWEST, nothing is inserted and two values are dropped.")
+        void putAllDropsNewest() {
+            ArrayBoundedQueue<Integer> full = fullQueue(OverflowPolicy.DROP_NEWEST);
+
+            int transferred = full.putAll(new Integer[]{1, 2}, 0, 2);
+
+            assertThat(transferred).isZero();
+            assertThat(full).containsExactly(4, 7, 9);
+            assertThat(full.droppedCount()).isEqualTo(2);
+        }
+
+        @Test
+        @DisplayName("when putting a null element with any policy, an IllegalArgumentException is thrown.")
+        void puttingNullValueThrowsException() {
+            for (OverflowPolicy policy : new OverflowPolicy[]{OverflowPolicy.OVERWRITE_OLDEST, OverflowPolicy.DROP_NEWEST}) {
+                ArrayBoundedQueue<Integer> full = fullQueue(policy);
+                assertThatExceptionOfType(IllegalArgumentException.class)
+                        .isThrownBy(() -> full.put(null))
+                        .withMessage("put: element cannot be null");
+                assertThat(full.droppedCount()).isZero();
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Fail-fast traversal and bulk views, given the queue [7 - {4}] (4 -> 7):")
+    class Traversal {
+        @BeforeEach
+        void setUp() {
+            ReflectionTestUtils.setField(queue, "first", 2);
+            ReflectionTestUtils.setField(queue, "nextFree", 2);
+            queue.put(4);
+            queue.put(7);
+        }
+
+        @Test
+        @DisplayName("when putting a value while iterating, a ConcurrentModificationException is thrown.")
+        void iteratorFailsFast() {
+            var iterator = queue.iterator();
+            iterator.next();
+            queue.put(9);
+
+            assertThatExceptionOfType(ConcurrentModificationException.class)
+                    .isThrownBy(iterator::next);
+        }
+
+        @Test
+        @DisplayName("when getting a value inside forEach, a ConcurrentModificationException is thrown.")
+        void forEachFailsFast() {
+            assertThatExceptionOfType(ConcurrentModificationException.class)
+                    .isThrownBy(() -> queue.forEach(element -> queue.get()));
+        }
+
+        @Test
+        @DisplayName("when traversing it with forEach, the elements are visited in order.")
+        void forEachVisitsInOrder() {
+            List<Integer> visited = new ArrayList<>();
+
+            queue.forEach(visited::add);
+
+            assertThat(visited).containsExactly(4, 7);
+        }
+
+        @Test
+        @DisplayName("when splitting its spliterator, the split happens where the elements wrap around " +
+                "the end of the buffer.")
+        void spliteratorSplitsAtWrapAround() {
+            Spliterator<Integer> suffix = queue.spliterator();
+            assertThat(suffix.hasCharacteristics(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.NONNULL))
+                    .as("The spliterator should be ordered, sized and non-null").isTrue();
+
+            Spliterator<Integer> prefix = suffix.trySplit();
+
+            assertThat(prefix).as("The spliterator should split").isNotNull();
+            List<Integer> visited = new ArrayList<>();
+            prefix.forEachRemaining(visited::add);
+            assertThat(visited).containsExactly(4);
+            suffix.forEachRemaining(visited::add);
+            assertThat(visited).containsExactly(4, 7);
+        }
+
+        @Test
+        @DisplayName("when streaming it in parallel, every element is processed.")
+        void parallelStream() {
+            queue.put(9);
+
+            int sum = StreamSupport.stream(queue.spliterator(), true).mapToInt(Integer::intValue).sum();
+
+            assertThat(sum).isEqualTo(20);
+        }
+    }
+}
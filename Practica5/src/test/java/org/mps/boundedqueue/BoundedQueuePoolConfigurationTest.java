@@ -0,0 +1,45 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>Given pool properties, the pool bean is sized through them.</li>
+ *     <li>Given the pool bean, it is a singleton shared by every injection point.</li>
+ * </ul>
+ */
+@SpringJUnitConfig(BoundedQueuePoolConfiguration.class)
+@TestPropertySource(properties = {
+        "boundedqueue.pool.min-capacity=8",
+        "boundedqueue.pool.max-capacity=32",
+        "boundedqueue.pool.prewarmed-per-class=2"
+})
+class BoundedQueuePoolConfigurationTest {
+
+    @Autowired
+    private BoundedQueuePool pool;
+
+    @Autowired
+    private BoundedQueuePool samePool;
+
+    @Test
+    @DisplayName("Given pool properties, the pool bean is sized through them.")
+    void poolIsSizedThroughProperties() {
+        assertThat(pool.idle()).as("Two idle queues in classes 8, 16 and 32").isEqualTo(6);
+        assertThat(pool.acquire(1).capacity()).isEqualTo(8);
+        assertThat(pool.acquire(33).capacity()).isEqualTo(33);
+    }
+
+    @Test
+    @DisplayName("Given the pool bean, it is a singleton shared by every injection point.")
+    void poolIsSingleton() {
+        assertThat(pool).isSameAs(samePool);
+    }
+}
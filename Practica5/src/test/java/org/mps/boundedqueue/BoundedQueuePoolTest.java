@@ -0,0 +1,150 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>
+ *         <b>Tests for invalid arguments:</b>
+ *         <ul>
+ *             <li>Given inconsistent capacities or idle limits, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a non-positive capacity, acquire throws an {@link IllegalArgumentException}.</li>
+ *             <li>Given a null queue, release throws an {@link IllegalArgumentException}.</li>
+ *             <li>Given a queue released twice, release throws an {@link IllegalStateException} and the queue is pooled once.</li>
+ *         </ul>
+ *     </li>
+ *     <li>Given a requested capacity, the acquired queue has the capacity of the smallest class that fits it.</li>
+ *     <li>Given a capacity above the largest class, a new queue of exactly that capacity is returned.</li>
+ *     <li>Given a released queue, the next acquisition of its class reuses it, empty, and counts a hit.</li>
+ *     <li>Given a pre-warmed pool, the first acquisitions are hits.</li>
+ *     <li>Given a queue that does not belong to any class, release discards it.</li>
+ * </ul>
+ */
+class BoundedQueuePoolTest {
+
+    private BoundedQueuePool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new BoundedQueuePool(16, 1024, 4, 0);
+    }
+
+    @Nested
+    @DisplayName("Tests for invalid arguments:")
+    class InvalidArguments {
+        @Test
+        @DisplayName("Given inconsistent capacities or idle limits, an IllegalArgumentException is thrown.")
+        void invalidConstructorArgumentsThrowException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new BoundedQueuePool(64, 16, 4, 0));
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new BoundedQueuePool(0, 16, 4, 0));
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new BoundedQueuePool(16, 64, 0, 0))
+                    .withMessage("BoundedQueuePool: maxIdlePerClass must be positive");
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new BoundedQueuePool(16, 64, 4, 5));
+        }
+
+        @Test
+        @DisplayName("Given a non-positive capacity, acquire throws an IllegalArgumentException.")
+        void nonPositiveCapacityThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> pool.acquire(0))
+                    .withMessage("acquire: capacity must be positive and at most 2^30");
+        }
+
+        @Test
+        @DisplayName("Given a null queue, release throws an IllegalArgumentException.")
+        void nullQueueThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> pool.release(null))
+                    .withMessage("release: queue cannot be null");
+        }
+
+        @Test
+        @DisplayName("Given a queue released twice, release throws an IllegalStateException and the queue is pooled once.")
+        void doubleReleaseThrowsException() {
+            ArrayBoundedQueue<Integer> queue = pool.acquire(16);
+            pool.release(queue);
+
+            assertThatExceptionOfType(IllegalStateException.class)
+                    .isThrownBy(() -> pool.release(queue))
+                    .withMessage("release: queue already released");
+            assertThat(pool.idle()).isEqualTo(1);
+            assertThat(pool.<Integer>acquire(16)).isSameAs(queue);
+            assertThat(pool.<Integer>acquire(16)).isNotSameAs(queue);
+            pool.release(queue);
+            assertThat(pool.idle()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a requested capacity, the acquired queue has the capacity of the smallest class that fits it.")
+    void acquireRoundsUpToClass() {
+        assertThat(pool.acquire(1).capacity()).isEqualTo(16);
+        assertThat(pool.acquire(100).capacity()).isEqualTo(128);
+        assertThat(pool.acquire(1024).capacity()).isEqualTo(1024);
+        assertThat(pool.misses()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given a capacity above the largest class, a new queue of exactly that capacity is returned.")
+    void acquireAboveLargestClass() {
+        ArrayBoundedQueue<Integer> queue = pool.acquire(2000);
+
+        assertThat(queue.capacity()).isEqualTo(2000);
+        pool.release(queue);
+        assertThat(pool.discarded()).isEqualTo(1);
+        assertThat(pool.idle()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given a released queue, the next acquisition of its class reuses it, empty, and counts a hit.")
+    void releasedQueueIsReused() {
+        ArrayBoundedQueue<Integer> queue = pool.acquire(20);
+        for (int i = 0; i < 20; i++) {
+            queue.put(i);
+        }
+        queue.get();
+        pool.release(queue);
+
+        ArrayBoundedQueue<String> reused = pool.acquire(32);
+        assertThat(reused).isSameAs(queue);
+        assertThat(reused.isEmpty()).isTrue();
+        assertThat(reused).isEmpty();
+        assertThat(pool.hits()).isEqualTo(1);
+        assertThat(pool.misses()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given a pre-warmed pool, the first acquisitions are hits.")
+    void prewarmedPool() {
+        BoundedQueuePool prewarmed = new BoundedQueuePool(16, 64, 2, 2);
+
+        assertThat(prewarmed.idle()).isEqualTo(6);
+        prewarmed.acquire(16);
+        prewarmed.acquire(16);
+        prewarmed.acquire(64);
+        assertThat(prewarmed.hits()).isEqualTo(3);
+        assertThat(prewarmed.misses()).isZero();
+    }
+
+    @Test
+    @DisplayName("Given a queue that does not belong to any class, release discards it.")
+    void foreignQueueIsDiscarded() {
+        pool.release(new ArrayBoundedQueue<>(100));
+        pool.release(new ArrayBoundedQueue<>(8));
+        pool.release(new ArrayBoundedQueue<>(64, OverflowPolicy.OVERWRITE_OLDEST));
+
+        assertThat(pool.discarded()).isEqualTo(3);
+        assertThat(pool.idle()).isZero();
+    }
+}
@@ -0,0 +1,184 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>
+ *         <b>Tests for invalid arguments or operations:</b>
+ *         <ul>
+ *             <li>Given a non-positive capacity, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a not-full deque, when pushing or putting a null element, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given an empty deque, when getting, an {@link EmptyBoundedQueueException} is thrown.</li>
+ *             <li>Given a full deque, when putting, a {@link FullBoundedQueueException} is thrown.</li>
+ *         </ul>
+ *     </li>
+ *     <li>Given a full deque, push returns {@code false}; given an empty one, pop and steal return {@code null}.</li>
+ *     <li>Given pushed elements, pop returns them in LIFO order and steal in FIFO order.</li>
+ *     <li>Given put elements, get returns them in FIFO order.</li>
+ *     <li>Given a deque that wraps around its array, the elements are iterated in FIFO order.</li>
+ *     <li>Given an owner pushing and popping while several thieves steal, every element is taken exactly once.</li>
+ * </ul>
+ */
+class ChaseLevBoundedDequeTest {
+
+    private ChaseLevBoundedDeque<Integer> deque;
+
+    @BeforeEach
+    void setUp() {
+        deque = new ChaseLevBoundedDeque<>(3);
+    }
+
+    @Nested
+    @DisplayName("Tests for invalid arguments or operations:")
+    class InvalidArguments {
+        @Test
+        @DisplayName("Given a non-positive capacity, an IllegalArgumentException is thrown.")
+        void nonPositiveCapacityThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new ChaseLevBoundedDeque<>(0))
+                    .withMessage("ChaseLevBoundedDeque: capacity must be positive and at most 2^30");
+        }
+
+        @Test
+        @DisplayName("Given a not-full deque, when pushing or putting a null element, an IllegalArgumentException is thrown.")
+        void nullValueThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> deque.push(null))
+                    .withMessage("push: element cannot be null");
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> deque.put(null))
+                    .withMessage("put: element cannot be null");
+        }
+
+        @Test
+        @DisplayName("Given an empty deque, when getting, an EmptyBoundedQueueException is thrown.")
+        void getFails() {
+            assertThatExceptionOfType(EmptyBoundedQueueException.class)
+                    .isThrownBy(() -> deque.get())
+                    .withMessage("get: empty bounded queue");
+        }
+
+        @Test
+        @DisplayName("Given a full deque, when putting, a FullBoundedQueueException is thrown.")
+        void putFails() {
+            fill();
+
+            assertThatExceptionOfType(FullBoundedQueueException.class)
+                    .isThrownBy(() -> deque.put(4))
+                    .withMessage("put: full bounded queue");
+        }
+    }
+
+    @Test
+    @DisplayName("Given a full deque, push returns false; given an empty one, pop and steal return null.")
+    void nonThrowingOperations() {
+        assertThat(deque.pop()).isNull();
+        assertThat(deque.steal()).isNull();
+        fill();
+
+        assertThat(deque.push(4)).as("A full deque should reject the push").isFalse();
+        assertThat(deque.isFull()).isTrue();
+        assertThat(deque.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given pushed elements, pop returns them in LIFO order and steal in FIFO order.")
+    void popIsLifoAndStealIsFifo() {
+        fill();
+
+        assertThat(deque.pop()).isEqualTo(3);
+        assertThat(deque.steal()).isEqualTo(1);
+        assertThat(deque.pop()).isEqualTo(2);
+        assertThat(deque.isEmpty()).isTrue();
+        assertThat(deque.pop()).isNull();
+    }
+
+    @Test
+    @DisplayName("Given put elements, get returns them in FIFO order.")
+    void getIsFifo() {
+        fill();
+
+        assertThat(deque.get()).isEqualTo(1);
+        assertThat(deque.get()).isEqualTo(2);
+        assertThat(deque.get()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given a deque that wraps around its array, the elements are iterated in FIFO order.")
+    void iteratesAcrossTheWrap() {
+        fill();
+        deque.steal();
+        deque.steal();
+        deque.push(4);
+        deque.push(5);
+
+        assertThat(deque).containsExactly(3, 4, 5);
+    }
+
+    @Test
+    @DisplayName("Given an owner pushing and popping while several thieves steal, every element is taken exactly once.")
+    void stressOwnerAndThieves() throws InterruptedException {
+        final int thieves = 3;
+        final int elements = 200_000;
+        ChaseLevBoundedDeque<Integer> shared = new ChaseLevBoundedDeque<>(64);
+        AtomicLong sum = new AtomicLong();
+        AtomicLong taken = new AtomicLong();
+        AtomicBoolean done = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int i = 0; i < thieves; i++) {
+            threads.add(new Thread(() -> {
+                while (!done.get() || !shared.isEmpty()) {
+                    Integer item = shared.steal();
+                    if (item != null) {
+                        sum.addAndGet(item);
+                        taken.incrementAndGet();
+                    } else {
+                        Thread.yield();
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        for (int i = 1; i <= elements; i++) {
+            while (!shared.push(i)) {
+                Thread.yield();
+            }
+            if (i % 3 == 0) {
+                Integer item = shared.pop();
+                if (item != null) {
+                    sum.addAndGet(item);
+                    taken.incrementAndGet();
+                }
+            }
+        }
+        done.set(true);
+        for (Thread thread : threads) {
+            thread.join(30_000);
+        }
+
+        assertThat(taken.get()).isEqualTo(elements);
+        assertThat(sum.get()).as("Every element should be taken exactly once")
+                .isEqualTo((long) elements * (elements + 1) / 2);
+    }
+
+    private void fill() {
+        deque.put(1);
+        deque.put(2);
+        deque.put(3);
+    }
+}
@@ -0,0 +1,290 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>
+ *         <b>Tests for invalid arguments:</b>
+ *         <ul>
+ *             <li>Given a non-empty delegate, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a delegate that discards elements when full, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a capacity greater than {@code 2^28}, an {@link IllegalArgumentException} is thrown.</li>
+ *         </ul>
+ *     </li>
+ *     <li>Given a fresh queue, the snapshot has every counter at {@code 0}.</li>
+ *     <li>Given a full queue, a rejected put is counted and the exception is still thrown.</li>
+ *     <li>Given an empty queue, an empty get is counted and the exception is still thrown.</li>
+ *     <li>Given puts and gets, they are counted and the high-water mark is the highest size reached.</li>
+ *     <li>Given an element that stays in the queue for a while, its residence time is recorded.</li>
+ *     <li>Given batch operations, every transferred element is counted.</li>
+ *     <li>Given a capacity smaller than the capacity of the delegate, the puts beyond it are rejected.</li>
+ *     <li>Given a delegate smaller than the capacity, the puts it rejects are counted and do not shift the residence times.</li>
+ *     <li>Given one producer and one consumer thread, every residence time is bounded by the duration of the test.</li>
+ *     <li>Given two producer threads and one consumer thread, every residence time is bounded by the duration of the test.</li>
+ * </ul>
+ */
+class InstrumentedBoundedQueueTest {
+
+    private InstrumentedBoundedQueue<Integer> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new InstrumentedBoundedQueue<>(new ArrayBoundedQueue<>(3), 3);
+    }
+
+    @Nested
+    @DisplayName("Tests for invalid arguments:")
+    class InvalidArguments {
+        @Test
+        @DisplayName("Given a non-empty delegate, an IllegalArgumentException is thrown.")
+        void nonEmptyDelegateThrowsException() {
+            ArrayBoundedQueue<Integer> delegate = new ArrayBoundedQueue<>(3);
+            delegate.put(1);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new InstrumentedBoundedQueue<>(delegate, 3));
+        }
+
+        @Test
+        @DisplayName("Given a delegate that discards elements when full, an IllegalArgumentException is thrown.")
+        void lossyDelegateThrowsException() {
+            ArrayBoundedQueue<Integer> delegate = new ArrayBoundedQueue<>(3, OverflowPolicy.OVERWRITE_OLDEST);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new InstrumentedBoundedQueue<>(delegate, 3))
+                    .withMessage("InstrumentedBoundedQueue: delegate cannot discard elements");
+        }
+
+        @Test
+        @DisplayName("Given a capacity greater than 2^28, an IllegalArgumentException is thrown.")
+        void hugeCapacityThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new InstrumentedBoundedQueue<>(new ArrayBoundedQueue<Integer>(8), (1 << 28) + 1))
+                    .withMessage("InstrumentedBoundedQueue: capacity must be positive and at most 2^28");
+        }
+    }
+
+    @Test
+    @DisplayName("Given a fresh queue, the snapshot has every counter at 0.")
+    void freshSnapshot() {
+        InstrumentedBoundedQueue.Snapshot snapshot = queue.snapshot();
+
+        assertThat(snapshot.puts()).isZero();
+        assertThat(snapshot.gets()).isZero();
+        assertThat(snapshot.rejectedPuts()).isZero();
+        assertThat(snapshot.emptyGets()).isZero();
+        assertThat(snapshot.highWaterMark()).isZero();
+        assertThat(snapshot.residencePercentile(99)).isZero();
+    }
+
+    @Test
+    @DisplayName("Given a full queue, a rejected put is counted and the exception is still thrown.")
+    void rejectedPutIsCounted() {
+        queue.put(1);
+        queue.put(2);
+        queue.put(3);
+
+        assertThatExceptionOfType(FullBoundedQueueException.class)
+                .isThrownBy(() -> queue.put(4));
+        assertThat(queue.snapshot().rejectedPuts()).isEqualTo(1);
+        assertThat(queue.snapshot().puts()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given an empty queue, an empty get is counted and the exception is still thrown.")
+    void emptyGetIsCounted() {
+        assertThatExceptionOfType(EmptyBoundedQueueException.class)
+                .isThrownBy(() -> queue.get());
+        assertThat(queue.snapshot().emptyGets()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Given puts and gets, they are counted and the high-water mark is the highest size reached.")
+    void putsAndGetsAreCounted() {
+        queue.put(1);
+        queue.put(2);
+        queue.get();
+        queue.put(3);
+        queue.get();
+        queue.get();
+
+        InstrumentedBoundedQueue.Snapshot snapshot = queue.snapshot();
+        assertThat(snapshot.puts()).isEqualTo(3);
+        assertThat(snapshot.gets()).isEqualTo(3);
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.highWaterMark()).isEqualTo(2);
+        assertThat(snapshot.putRate()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Given an element that stays in the queue for a while, its residence time is recorded.")
+    void residenceTimeIsRecorded() throws InterruptedException {
+        queue.put(1);
+        Thread.sleep(5);
+        queue.get();
+
+        long median = queue.snapshot().residencePercentile(50);
+        assertThat(median).as("The element stayed at least 5 ms").isGreaterThanOrEqualTo(5_000_000L);
+    }
+
+    @Test
+    @DisplayName("Given batch operations, every transferred element is counted.")
+    void batchOperationsAreCounted() {
+        int transferred = queue.putAll(new Integer[]{1, 2, 3, 4}, 0, 4);
+        queue.drainTo(new ArrayList<>(), 2);
+
+        InstrumentedBoundedQueue.Snapshot snapshot = queue.snapshot();
+        assertThat(transferred).isEqualTo(3);
+        assertThat(snapshot.puts()).isEqualTo(3);
+        assertThat(snapshot.rejectedPuts()).isEqualTo(1);
+        assertThat(snapshot.gets()).isEqualTo(2);
+        assertThat(queue).containsExactly(3);
+    }
+
+    @Test
+    @DisplayName("Given a capacity smaller than the capacity of the delegate, the puts beyond it are rejected.")
+    void capacityBoundsTheDelegate() {
+        InstrumentedBoundedQueue<Integer> bounded = new InstrumentedBoundedQueue<>(new ArrayBoundedQueue<>(8), 2);
+        bounded.put(1);
+        bounded.put(2);
+
+        assertThat(bounded.isFull()).isTrue();
+        assertThatExceptionOfType(FullBoundedQueueException.class)
+                .isThrownBy(() -> bounded.put(3));
+        assertThat(bounded.putAll(new Integer[]{3, 4}, 0, 2)).isZero();
+        assertThat(bounded.snapshot().rejectedPuts()).isEqualTo(3);
+        assertThat(bounded).containsExactly(1, 2);
+    }
+
+    @Test
+    @DisplayName("Given a delegate smaller than the capacity, the puts it rejects are counted and do not shift the residence times.")
+    void delegateRejectionsAreVoided() throws InterruptedException {
+        InstrumentedBoundedQueue<Integer> oversized = new InstrumentedBoundedQueue<>(new ArrayBoundedQueue<>(2), 4);
+        long start = System.nanoTime();
+        oversized.put(1);
+        oversized.put(2);
+        for (int i = 0; i < 100; i++) {
+            assertThatExceptionOfType(FullBoundedQueueException.class)
+                    .isThrownBy(() -> oversized.put(3));
+        }
+        oversized.get();
+        Thread.sleep(5);
+        oversized.put(3);
+        oversized.get();
+        oversized.get();
+        long elapsed = System.nanoTime() - start;
+
+        InstrumentedBoundedQueue.Snapshot snapshot = oversized.snapshot();
+        assertThat(snapshot.rejectedPuts()).isEqualTo(100);
+        assertThat(snapshot.puts()).isEqualTo(3);
+        assertThat(snapshot.gets()).isEqualTo(3);
+        assertThat(snapshot.residencePercentile(100))
+                .as("The first two elements stayed at least 5 ms, but not longer than the whole test")
+                .isGreaterThanOrEqualTo(5_000_000L)
+                .isLessThanOrEqualTo(elapsed + elapsed / 8);
+    }
+
+    @Test
+    @DisplayName("Given one producer and one consumer thread, every residence time is bounded by the duration of the test.")
+    void residenceTimesWithConcurrentThreads() throws InterruptedException {
+        final int elements = 200_000;
+        InstrumentedBoundedQueue<Integer> shared = new InstrumentedBoundedQueue<>(new SpscArrayBoundedQueue<>(4), 4);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long start = System.nanoTime();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < elements; ) {
+                if (!shared.isFull()) {
+                    shared.put(i++);
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < elements; ) {
+                if (!shared.isEmpty()) {
+                    shared.get();
+                    i++;
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+        consumer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+
+        producer.start();
+        consumer.start();
+        producer.join(30_000);
+        consumer.join(30_000);
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(failure.get()).as("No thread should fail").isNull();
+        assertThat(shared.snapshot().gets()).isEqualTo(elements);
+        assertThat(shared.snapshot().residencePercentile(100))
+                .as("No element can stay longer than the whole test, with the 12.5% error of the histogram")
+                .isLessThanOrEqualTo(elapsed + elapsed / 8);
+    }
+
+    @Test
+    @DisplayName("Given two producer threads and one consumer thread, every residence time is bounded by the duration of the test.")
+    void residenceTimesWithConcurrentProducers() throws InterruptedException {
+        final int elementsPerProducer = 100_000;
+        InstrumentedBoundedQueue<Integer> shared = new InstrumentedBoundedQueue<>(new MpmcArrayBoundedQueue<>(4), 4);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long start = System.nanoTime();
+
+        Runnable produce = () -> {
+            for (int i = 0; i < elementsPerProducer; ) {
+                try {
+                    shared.put(i);
+                    i++;
+                } catch (FullBoundedQueueException e) {
+                    Thread.yield();
+                }
+            }
+        };
+        Thread[] producers = {new Thread(produce), new Thread(produce)};
+        Thread consumer = new Thread(() -> {
+            for (int i = 0; i < 2 * elementsPerProducer; ) {
+                try {
+                    shared.get();
+                    i++;
+                } catch (EmptyBoundedQueueException e) {
+                    Thread.yield();
+                }
+            }
+        });
+        consumer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+        consumer.start();
+        for (Thread producer : producers) {
+            producer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+            producer.start();
+        }
+        for (Thread producer : producers) {
+            producer.join(30_000);
+        }
+        consumer.join(30_000);
+        long elapsed = System.nanoTime() - start;
+
+        InstrumentedBoundedQueue.Snapshot snapshot = shared.snapshot();
+        assertThat(failure.get()).as("No thread should fail").isNull();
+        assertThat(snapshot.puts()).isEqualTo(2L * elementsPerProducer);
+        assertThat(snapshot.gets()).isEqualTo(2L * elementsPerProducer);
+        assertThat(snapshot.residencePercentile(100))
+                .as("No element can stay longer than the whole test, with the 12.5% error of the histogram")
+                .isLessThanOrEqualTo(elapsed + elapsed / 8);
+    }
+}
@@ -0,0 +1,54 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>Every value falls in a bucket whose bounds contain it, with an error of at most 12.5%.</li>
+ *     <li>Consecutive buckets cover the values without gaps.</li>
+ *     <li>Given recorded values, a percentile is the upper bound of the bucket of the value at that rank.</li>
+ * </ul>
+ */
+class LogLinearHistogramTest {
+
+    @Test
+    @DisplayName("Every value falls in a bucket whose bounds contain it, with an error of at most 12.5%.")
+    void bucketsContainTheirValues() {
+        long[] values = {0, 1, 7, 15, 16, 17, 100, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LogLinearHistogram.bucketIndex(value);
+            long lower = LogLinearHistogram.lowerBound(bucket);
+            long upper = LogLinearHistogram.upperBound(bucket);
+
+            assertThat(value).as("Bucket %d of %d", bucket, value).isBetween(lower, upper);
+            assertThat(upper - lower).as("Width of bucket %d", bucket).isLessThanOrEqualTo(Math.max(0, lower / 8));
+        }
+    }
+
+    @Test
+    @DisplayName("Consecutive buckets cover the values without gaps.")
+    void bucketsAreContiguous() {
+        for (int bucket = 0; bucket < LogLinearHistogram.BUCKETS - 1; bucket++) {
+            assertThat(LogLinearHistogram.lowerBound(bucket + 1))
+                    .isEqualTo(LogLinearHistogram.upperBound(bucket) + 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Given recorded values, a percentile is the upper bound of the bucket of the value at that rank.")
+    void percentiles() {
+        LogLinearHistogram histogram = new LogLinearHistogram();
+        for (int value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+        long[] snapshot = histogram.snapshot();
+
+        assertThat(LogLinearHistogram.valueAtPercentile(snapshot, 0)).isEqualTo(1);
+        assertThat(LogLinearHistogram.valueAtPercentile(snapshot, 50)).isBetween(50L, 55L);
+        assertThat(LogLinearHistogram.valueAtPercentile(snapshot, 100)).isBetween(100L, 103L);
+    }
+}
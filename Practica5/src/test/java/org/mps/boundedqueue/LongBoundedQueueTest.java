@@ -0,0 +1,99 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>Given a non-positive size when creating a queue, an {@link IllegalArgumentException} will be thrown.</li>
+ *     <li>Given an empty queue, when calling the method {@code get()}, an {@link EmptyBoundedQueueException} is thrown.</li>
+ *     <li>Given a full queue, when calling the method put, a {@link FullBoundedQueueException} is thrown.</li>
+ *     <li>Given the queue [4 - {9}] (9 -> 4), when getting the values, they are returned in order.</li>
+ *     <li>
+ *         Given the queue [4 - {9}] (9 -> 4), when the queue is iterated, the values are visited in order and
+ *         iterating out of the queue's bounds throws a {@link NoSuchElementException}.
+ *     </li>
+ * </ul>
+ */
+class LongBoundedQueueTest {
+
+    private LongBoundedQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new LongBoundedQueue(3);
+    }
+
+    @Test
+    @DisplayName("Given a non-positive size when creating a queue, an IllegalArgumentException will be thrown.")
+    void nonPositiveSizeThrowsException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> new LongBoundedQueue(0))
+                .withMessage("LongBoundedQueue: capacity must be positive");
+    }
+
+    @Test
+    @DisplayName("Given an empty queue, when calling the method get, an EmptyBoundedQueueException is thrown.")
+    void getFails() {
+        assertThat(queue.isEmpty()).as("The queue should be created empty").isTrue();
+        assertThatExceptionOfType(EmptyBoundedQueueException.class)
+                .isThrownBy(() -> queue.get())
+                .withMessage("get: empty bounded queue");
+    }
+
+    @Test
+    @DisplayName("Given a full queue, when calling the method put, a FullBoundedQueueException is thrown.")
+    void putFails() {
+        queue.put(1);
+        queue.put(2);
+        queue.put(3);
+
+        assertThat(queue.isFull()).as("The queue should be full").isTrue();
+        assertThatExceptionOfType(FullBoundedQueueException.class)
+                .isThrownBy(() -> queue.put(5))
+                .withMessage("put: full bounded queue");
+    }
+
+    @Test
+    @DisplayName("Given the queue [4 - {9}] (9 -> 4), when getting the values, they are returned in order.")
+    void getLoops() {
+        loopingQueue();
+
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.get()).isEqualTo(9);
+        assertThat(queue.get()).isEqualTo(4);
+        assertThat(queue.isEmpty()).as("The queue should be empty").isTrue();
+    }
+
+    @Test
+    @DisplayName("Given the queue [4 - {9}] (9 -> 4), when the queue is iterated, the values are visited in order " +
+            "and iterating out of the queue's bounds throws a NoSuchElementException.")
+    void iteratorLoops() {
+        loopingQueue();
+
+        PrimitiveIterator.OfLong iterator = queue.iterator();
+        assertThat(iterator.nextLong()).isEqualTo(9);
+        assertThat(iterator.nextLong()).isEqualTo(4);
+        assertThat(iterator.hasNext()).as("The iterator should be exhausted").isFalse();
+        assertThatExceptionOfType(NoSuchElementException.class)
+                .isThrownBy(iterator::nextLong)
+                .withMessage("next: bounded queue iterator exhausted");
+    }
+
+    private void loopingQueue() {
+        queue.put(1);
+        queue.put(2);
+        queue.put(9);
+        queue.get();
+        queue.get();
+        queue.put(4);
+    }
+}
@@ -0,0 +1,229 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>
+ *         <b>Tests for invalid arguments or operations:</b>
+ *         <ul>
+ *             <li>Given a non-positive capacity, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a file holding a queue of another capacity, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a not-full queue, when putting a null element, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given an empty queue, when getting, an {@link EmptyBoundedQueueException} is thrown.</li>
+ *             <li>Given a queue without room for an element, when putting it, a {@link FullBoundedQueueException} is thrown.</li>
+ *             <li>Given an element larger than the capacity, when putting it into the empty queue, an {@link IllegalArgumentException} is thrown.</li>
+ *         </ul>
+ *     </li>
+ *     <li>Given a queue whose elements wrap around the end of the file, they are returned and iterated in order.</li>
+ *     <li>Given a closed queue, when reopening its file, the remaining elements are still there.</li>
+ *     <li>
+ *         <b>Tests for damaged files:</b>
+ *         <ul>
+ *             <li>Given a torn latest header slot, the queue reopens in the previous state.</li>
+ *             <li>Given two damaged header slots, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a corrupt element length, an {@link IllegalArgumentException} is thrown.</li>
+ *         </ul>
+ *     </li>
+ * </ul>
+ */
+class MappedFileBoundedQueueTest {
+
+    private static final int CAPACITY = 20;
+
+    @TempDir
+    Path directory;
+
+    private Path file;
+    private MappedFileBoundedQueue queue;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("queue.dat");
+        queue = new MappedFileBoundedQueue(file, CAPACITY, MappedFileBoundedQueue.Durability.EVERY_OPERATION);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        queue.close();
+    }
+
+    @Nested
+    @DisplayName("Tests for invalid arguments or operations:")
+    class InvalidArguments {
+        @Test
+        @DisplayName("Given a non-positive capacity, an IllegalArgumentException is thrown.")
+        void nonPositiveCapacityThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new MappedFileBoundedQueue(directory.resolve("other.dat"), 0));
+        }
+
+        @Test
+        @DisplayName("Given a file holding a queue of another capacity, an IllegalArgumentException is thrown.")
+        void differentCapacityThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new MappedFileBoundedQueue(file, CAPACITY + 1))
+                    .withMessage("MappedFileBoundedQueue: file holds a queue of a different capacity");
+        }
+
+        @Test
+        @DisplayName("Given a not-full queue, when putting a null element, an IllegalArgumentException is thrown.")
+        void puttingNullValueThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue.put(null))
+                    .withMessage("put: element cannot be null");
+        }
+
+        @Test
+        @DisplayName("Given an empty queue, when getting, an EmptyBoundedQueueException is thrown.")
+        void getFails() {
+            assertThatExceptionOfType(EmptyBoundedQueueException.class)
+                    .isThrownBy(() -> queue.get())
+                    .withMessage("get: empty bounded queue");
+        }
+
+        @Test
+        @DisplayName("Given a queue without room for an element, when putting it, a FullBoundedQueueException is thrown.")
+        void putFails() {
+            queue.put(bytes("0123456789"));
+
+            assertThat(queue.isFull()).as("The queue should still fit small elements").isFalse();
+            assertThatExceptionOfType(FullBoundedQueueException.class)
+                    .isThrownBy(() -> queue.put(bytes("abc")))
+                    .withMessage("put: full bounded queue");
+            queue.put(bytes("ab"));
+            assertThat(queue.isFull()).as("The queue should be full").isTrue();
+        }
+
+        @Test
+        @DisplayName("Given an element larger than the capacity, when putting it into the empty queue, an IllegalArgumentException is thrown.")
+        void puttingOversizedValueThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue.put(new byte[CAPACITY - 3]))
+                    .withMessage("put: element larger than the capacity");
+            assertThat(queue.isEmpty()).isTrue();
+            queue.put(new byte[CAPACITY - 4]);
+            assertThat(queue.isFull()).as("The largest element takes the whole capacity").isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Given a queue whose elements wrap around the end of the file, they are returned and iterated in order.")
+    void elementsWrapAround() {
+        queue.put(bytes("abcdefg"));
+        queue.put(bytes("hi"));
+        assertThat(queue.get()).isEqualTo(bytes("abcdefg"));
+
+        // the length prefix of the third element starts 17 bytes in, so both wrap around
+        queue.put(bytes("jklmnop"));
+
+        List<String> iterated = new ArrayList<>();
+        queue.forEach(element -> iterated.add(new String(element, StandardCharsets.UTF_8)));
+        assertThat(iterated).containsExactly("hi", "jklmnop");
+        assertThat(queue.size()).isEqualTo(2);
+        assertThat(queue.get()).isEqualTo(bytes("hi"));
+        assertThat(queue.get()).isEqualTo(bytes("jklmnop"));
+        assertThat(queue.isEmpty()).as("The queue should be empty").isTrue();
+    }
+
+    @Test
+    @DisplayName("Given a closed queue, when reopening its file, the remaining elements are still there.")
+    void survivesReopening() throws IOException {
+        queue.put(bytes("first"));
+        queue.put(bytes("second"));
+        queue.get();
+        queue.close();
+
+        queue = new MappedFileBoundedQueue(file, CAPACITY);
+
+        assertThat(queue.size()).isEqualTo(1);
+        assertThat(queue.get()).isEqualTo(bytes("second"));
+    }
+
+    @Nested
+    @DisplayName("Tests for damaged files:")
+    class DamagedFiles {
+
+        private static final int[] SLOTS = {16, 40}; // offsets of the two header slots
+        private static final int CHECKSUM = 20; // offset of the checksum within a slot
+        private static final int DATA = 64; // offset of the circular region
+
+        @Test
+        @DisplayName("Given a torn latest header slot, the queue reopens in the previous state.")
+        void tornSlotFallsBack() throws IOException {
+            queue.put(bytes("first"));
+            queue.put(bytes("second"));
+            queue.close();
+
+            int latest = readInt(SLOTS[0]) - readInt(SLOTS[1]) > 0 ? SLOTS[0] : SLOTS[1];
+            writeInt(latest + CHECKSUM, readInt(latest + CHECKSUM) + 1);
+            queue = new MappedFileBoundedQueue(file, CAPACITY);
+
+            assertThat(queue).as("The second put was never committed").containsExactly(bytes("first"));
+        }
+
+        @Test
+        @DisplayName("Given two damaged header slots, an IllegalArgumentException is thrown.")
+        void damagedSlotsThrowException() throws IOException {
+            queue.close();
+
+            for (int slot : SLOTS) {
+                writeInt(slot + CHECKSUM, readInt(slot + CHECKSUM) + 1);
+            }
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue = new MappedFileBoundedQueue(file, CAPACITY))
+                    .withMessage("MappedFileBoundedQueue: file has a corrupt header");
+        }
+
+        @Test
+        @DisplayName("Given a corrupt element length, an IllegalArgumentException is thrown.")
+        void corruptElementThrowsException() throws IOException {
+            queue.put(bytes("first"));
+            queue.close();
+
+            writeInt(DATA, 1_000);
+
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue = new MappedFileBoundedQueue(file, CAPACITY))
+                    .withMessage("MappedFileBoundedQueue: file has a corrupt element");
+        }
+
+        private int readInt(int position) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                channel.read(buffer, position);
+                return buffer.getInt(0);
+            }
+        }
+
+        private void writeInt(int position, int value) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN).putInt(0, value), position);
+            }
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
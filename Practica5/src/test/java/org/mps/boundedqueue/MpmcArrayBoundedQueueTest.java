@@ -0,0 +1,244 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>
+ *         <b>Tests for invalid arguments or operations:</b>
+ *         <ul>
+ *             <li>Given a non-positive capacity or a null wait strategy, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a not-full queue, when putting or offering a null element, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given an empty queue, when getting, an {@link EmptyBoundedQueueException} is thrown.</li>
+ *             <li>Given a full queue, when putting, a {@link FullBoundedQueueException} is thrown.</li>
+ *         </ul>
+ *     </li>
+ *     <li>The capacity is the requested one, even if it is not a power of two.</li>
+ *     <li>Given a queue of capacity 1, a second offer is rejected and does not overwrite the first element.</li>
+ *     <li>Given a queue of capacity 3, it holds exactly 3 elements over several laps.</li>
+ *     <li>Given a full queue, offer returns {@code false}; given an empty one, poll returns {@code null}.</li>
+ *     <li>Given a full queue, a timed offer gives up; given an empty one, a timed poll gives up.</li>
+ *     <li>Given an empty queue, take waits until another thread puts an element.</li>
+ *     <li>Given an iterated queue, the elements are visited in order.</li>
+ *     <li>Given a nearly full queue, batch operations transfer as many elements as possible.</li>
+ *     <li>Given several producer and consumer threads, every element is received exactly once.</li>
+ * </ul>
+ */
+class MpmcArrayBoundedQueueTest {
+
+    private MpmcArrayBoundedQueue<Integer> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new MpmcArrayBoundedQueue<>(4, WaitStrategy.yielding());
+    }
+
+    @Nested
+    @DisplayName("Tests for invalid arguments or operations:")
+    class InvalidArguments {
+        @Test
+        @DisplayName("Given a non-positive capacity or a null wait strategy, an IllegalArgumentException is thrown.")
+        void invalidConstructorArgumentsThrowException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new MpmcArrayBoundedQueue<>(0));
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new MpmcArrayBoundedQueue<>(4, null));
+        }
+
+        @Test
+        @DisplayName("Given a not-full queue, when putting or offering a null element, an IllegalArgumentException is thrown.")
+        void nullValueThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue.put(null))
+                    .withMessage("put: element cannot be null");
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue.offer(null))
+                    .withMessage("offer: element cannot be null");
+        }
+
+        @Test
+        @DisplayName("Given an empty queue, when getting, an EmptyBoundedQueueException is thrown.")
+        void getFails() {
+            assertThatExceptionOfType(EmptyBoundedQueueException.class)
+                    .isThrownBy(() -> queue.get())
+                    .withMessage("get: empty bounded queue");
+        }
+
+        @Test
+        @DisplayName("Given a full queue, when putting, a FullBoundedQueueException is thrown.")
+        void putFails() {
+            fill();
+
+            assertThatExceptionOfType(FullBoundedQueueException.class)
+                    .isThrownBy(() -> queue.put(5))
+                    .withMessage("put: full bounded queue");
+        }
+    }
+
+    @Test
+    @DisplayName("The capacity is the requested one, even if it is not a power of two.")
+    void capacityIsExact() {
+        assertThat(new MpmcArrayBoundedQueue<Integer>(5).capacity()).isEqualTo(5);
+        assertThat(new MpmcArrayBoundedQueue<Integer>(1).capacity()).isEqualTo(1);
+        assertThat(queue.capacity()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Given a queue of capacity 1, a second offer is rejected and does not overwrite the first element.")
+    void capacityOneKeepsEveryElement() {
+        MpmcArrayBoundedQueue<Integer> single = new MpmcArrayBoundedQueue<>(1);
+
+        assertThat(single.offer(1)).isTrue();
+        assertThat(single.isFull()).isTrue();
+        assertThat(single.offer(2)).as("The queue holds 1 element").isFalse();
+        assertThat(single.poll()).as("The first element must not be overwritten").isEqualTo(1);
+        assertThat(single.poll()).isNull();
+        assertThat(single.offer(2)).isTrue();
+        assertThat(single.poll()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Given a queue of capacity 3, it holds exactly 3 elements over several laps.")
+    void nonPowerOfTwoCapacityIsEnforced() {
+        MpmcArrayBoundedQueue<Integer> three = new MpmcArrayBoundedQueue<>(3);
+
+        for (int lap = 0; lap < 5; lap++) {
+            assertThat(three.putAll(new Integer[]{1, 2, 3, 4}, 0, 4)).isEqualTo(3);
+            assertThat(three.isFull()).isTrue();
+            assertThat(three.size()).isEqualTo(3);
+            assertThatExceptionOfType(FullBoundedQueueException.class)
+                    .isThrownBy(() -> three.put(4));
+            three.get();
+            three.put(4);
+            assertThat(three).containsExactly(2, 3, 4);
+            assertThat(three.drainTo(new ArrayList<>(), 3)).isEqualTo(3);
+        }
+    }
+
+    @Test
+    @DisplayName("Given a full queue, offer returns false; given an empty one, poll returns null.")
+    void nonThrowingOperations() {
+        assertThat(queue.poll()).as("An empty queue should poll null").isNull();
+        fill();
+
+        assertThat(queue.offer(5)).as("A full queue should reject the offer").isFalse();
+        assertThat(queue.poll()).isEqualTo(1);
+        assertThat(queue.offer(5)).isTrue();
+        assertThat(queue).containsExactly(2, 3, 4, 5);
+    }
+
+    @Test
+    @DisplayName("Given a full queue, a timed offer gives up; given an empty one, a timed poll gives up.")
+    void timedOperationsGiveUp() throws InterruptedException {
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+        fill();
+        assertThat(queue.offer(5, 10, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Given an empty queue, take waits until another thread puts an element.")
+    void takeWaitsForPut() throws InterruptedException {
+        Thread producer = new Thread(() -> {
+            try {
+                Thread.sleep(20);
+                queue.putBlocking(42);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+
+        assertThat(queue.take()).isEqualTo(42);
+        producer.join();
+    }
+
+    @Test
+    @DisplayName("Given an iterated queue, the elements are visited in order.")
+    void iteratesInOrder() {
+        fill();
+        queue.get();
+        queue.get();
+        queue.put(5);
+
+        assertThat(queue).containsExactly(3, 4, 5);
+        assertThat(queue.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given a nearly full queue, batch operations transfer as many elements as possible.")
+    void batchOperations() {
+        queue.put(1);
+
+        assertThat(queue.putAll(new Integer[]{2, 3, 4, 5}, 0, 4)).isEqualTo(3);
+        List<Integer> drained = new ArrayList<>();
+        assertThat(queue.drainTo(drained, 2)).isEqualTo(2);
+        assertThat(drained).containsExactly(1, 2);
+        Integer[] rest = new Integer[4];
+        assertThat(queue.drainTo(rest)).isEqualTo(2);
+        assertThat(rest).containsExactly(3, 4, null, null);
+    }
+
+    @Test
+    @DisplayName("Given several producer and consumer threads, every element is received exactly once.")
+    void stressManyProducersManyConsumers() throws InterruptedException {
+        final int threads = 3;
+        final int elementsPerProducer = 100_000;
+        MpmcArrayBoundedQueue<Integer> shared = new MpmcArrayBoundedQueue<>(64, WaitStrategy.yielding());
+        AtomicLong sum = new AtomicLong();
+        AtomicLong received = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+
+        for (int p = 0; p < threads; p++) {
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 1; i <= elementsPerProducer; i++) {
+                        shared.putBlocking(i);
+                    }
+                } catch (InterruptedException e) {
+                    failure.set(e);
+                }
+            }));
+            workers.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < elementsPerProducer; i++) {
+                        sum.addAndGet(shared.take());
+                        received.incrementAndGet();
+                    }
+                } catch (InterruptedException e) {
+                    failure.set(e);
+                }
+            }));
+        }
+        workers.forEach(Thread::start);
+        for (Thread worker : workers) {
+            worker.join(30_000);
+        }
+
+        long expectedSum = (long) threads * elementsPerProducer * (elementsPerProducer + 1) / 2;
+        assertThat(failure.get()).as("No thread should fail").isNull();
+        assertThat(received.get()).isEqualTo((long) threads * elementsPerProducer);
+        assertThat(sum.get()).as("Every element should be received exactly once").isEqualTo(expectedSum);
+        assertThat(shared.isEmpty()).as("The queue should be drained").isTrue();
+    }
+
+    private void fill() {
+        queue.put(1);
+        queue.put(2);
+        queue.put(3);
+        queue.put(4);
+    }
+}
@@ -0,0 +1,89 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>Given a non-positive size when creating a queue, an {@link IllegalArgumentException} will be thrown.</li>
+ *     <li>Given a capacity of 3, the buffer has 4 positions but the queue is full with 3 elements.</li>
+ *     <li>Given a full queue, when calling the method put, a {@link FullBoundedQueueException} is thrown.</li>
+ *     <li>Given an empty queue, when calling the method get, an {@link EmptyBoundedQueueException} is thrown.</li>
+ *     <li>Given many laps around the buffer, the queue behaves like an {@link ArrayBoundedQueue}.</li>
+ * </ul>
+ */
+class PowerOfTwoArrayBoundedQueueTest {
+
+    private BoundedQueue<Integer> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = ArrayBoundedQueue.withPowerOfTwoCapacity(3);
+    }
+
+    @Test
+    @DisplayName("Given a non-positive size when creating a queue, an IllegalArgumentException will be thrown.")
+    void nonPositiveSizeThrowsException() {
+        assertThatExceptionOfType(IllegalArgumentException.class)
+                .isThrownBy(() -> ArrayBoundedQueue.withPowerOfTwoCapacity(0));
+    }
+
+    @Test
+    @DisplayName("Given a capacity of 3, the buffer has 4 positions but the queue is full with 3 elements.")
+    void fullAtLogicalCapacity() {
+        queue.put(1);
+        queue.put(2);
+        assertThat(queue.isFull()).as("The queue should not be full").isFalse();
+        queue.put(3);
+
+        Object[] buffer = (Object[]) ReflectionTestUtils.getField(queue, "buffer");
+        assertThat(buffer).as("The buffer should be rounded up to a power of two").hasSize(4);
+        assertThat(queue.isFull()).as("The queue should be full").isTrue();
+        assertThat(queue.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given a full queue, when calling the method put, a FullBoundedQueueException is thrown.")
+    void putFails() {
+        queue.put(1);
+        queue.put(2);
+        queue.put(3);
+
+        assertThatExceptionOfType(FullBoundedQueueException.class)
+                .isThrownBy(() -> queue.put(4))
+                .withMessage("put: full bounded queue");
+    }
+
+    @Test
+    @DisplayName("Given an empty queue, when calling the method get, an EmptyBoundedQueueException is thrown.")
+    void getFails() {
+        assertThatExceptionOfType(EmptyBoundedQueueException.class)
+                .isThrownBy(() -> queue.get())
+                .withMessage("get: empty bounded queue");
+    }
+
+    @Test
+    @DisplayName("Given many laps around the buffer, the queue behaves like an ArrayBoundedQueue.")
+    void behavesLikeArrayBoundedQueue() {
+        ArrayBoundedQueue<Integer> expected = new ArrayBoundedQueue<>(3);
+
+        for (int i = 0; i < 100; i++) {
+            queue.put(i);
+            expected.put(i);
+            if (i % 3 != 0) {
+                assertThat(queue.get()).isEqualTo(expected.get());
+            }
+            assertThat(queue).containsExactlyElementsOf(expected);
+            if (queue.isFull()) {
+                queue.get();
+                expected.get();
+            }
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>
+ *         <b>Tests for invalid arguments or operations:</b>
+ *         <ul>
+ *             <li>Given a non-positive capacity, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a not-full queue, when putting a null element, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given an empty queue, when getting, an {@link EmptyBoundedQueueException} is thrown.</li>
+ *             <li>Given a full queue, when putting, a {@link FullBoundedQueueException} is thrown.</li>
+ *         </ul>
+ *     </li>
+ *     <li>Given a capacity that is not a power of two, the queue is full at exactly that capacity.</li>
+ *     <li>Given a random sequence of operations, the queue behaves like an {@link ArrayBoundedQueue}.</li>
+ *     <li>Given one producer and one consumer thread, every element is received once and in order.</li>
+ * </ul>
+ */
+class SpscArrayBoundedQueueTest {
+
+    private SpscArrayBoundedQueue<Integer> queue;
+
+    @BeforeEach
+    void setUp() {
+        queue = new SpscArrayBoundedQueue<>(3);
+    }
+
+    @Nested
+    @DisplayName("Tests for invalid arguments or operations:")
+    class InvalidArguments {
+        @Test
+        @DisplayName("Given a non-positive capacity, an IllegalArgumentException is thrown.")
+        void nonPositiveCapacityThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new SpscArrayBoundedQueue<>(0));
+        }
+
+        @Test
+        @DisplayName("Given a not-full queue, when putting a null element, an IllegalArgumentException is thrown.")
+        void puttingNullValueThrowsException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> queue.put(null))
+                    .withMessage("put: element cannot be null");
+        }
+
+        @Test
+        @DisplayName("Given an empty queue, when getting, an EmptyBoundedQueueException is thrown.")
+        void getFails() {
+            assertThatExceptionOfType(EmptyBoundedQueueException.class)
+                    .isThrownBy(() -> queue.get())
+                    .withMessage("get: empty bounded queue");
+        }
+
+        @Test
+        @DisplayName("Given a full queue, when putting, a FullBoundedQueueException is thrown.")
+        void putFails() {
+            queue.put(1);
+            queue.put(2);
+            queue.put(3);
+
+            assertThatExceptionOfType(FullBoundedQueueException.class)
+                    .isThrownBy(() -> queue.put(4))
+                    .withMessage("put: full bounded queue");
+        }
+    }
+
+    @Test
+    @DisplayName("Given a capacity that is not a power of two, the queue is full at exactly that capacity.")
+    void fullAtLogicalCapacity() {
+        queue.put(1);
+        queue.put(2);
+        assertThat(queue.isFull()).as("The queue should not be full").isFalse();
+
+        queue.put(3);
+        assertThat(queue.isFull()).as("The queue should be full").isTrue();
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.capacity()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Given a random sequence of operations, the queue behaves like an ArrayBoundedQueue.")
+    void behavesLikeArrayBoundedQueue() {
+        ArrayBoundedQueue<Integer> expected = new ArrayBoundedQueue<>(5);
+        SpscArrayBoundedQueue<Integer> actual = new SpscArrayBoundedQueue<>(5);
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            if (random.nextBoolean()) {
+                Integer value = random.nextInt(10) == 0 ? null : i;
+                assertThat(putOutcome(() -> actual.put(value)))
+                        .as("put(%s) at step %d", value, i)
+                        .isEqualTo(putOutcome(() -> expected.put(value)));
+            } else {
+                assertThat(getOutcome(actual::get))
+                        .as("get() at step %d", i)
+                        .isEqualTo(getOutcome(expected::get));
+            }
+            assertThat(actual.size()).isEqualTo(expected.size());
+            assertThat(actual.isFull()).isEqualTo(expected.isFull());
+            assertThat(actual.isEmpty()).isEqualTo(expected.isEmpty());
+            assertThat(actual).containsExactlyElementsOf(expected);
+        }
+    }
+
+    @Test
+    @DisplayName("Given one producer and one consumer thread, every element is received once and in order.")
+    void stressOneProducerOneConsumer() throws InterruptedException {
+        final int elements = 1_000_000;
+        SpscArrayBoundedQueue<Integer> shared = new SpscArrayBoundedQueue<>(64);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        List<Integer> outOfOrder = new ArrayList<>();
+
+        Thread producer = new Thread(() -> {
+            for (int i = 0; i < elements; ) {
+                if (!shared.isFull()) {
+                    shared.put(i++);
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        Thread consumer = new Thread(() -> {
+            for (int expected = 0; expected < elements; ) {
+                if (!shared.isEmpty()) {
+                    int value = shared.get();
+                    if (value != expected) {
+                        outOfOrder.add(value);
+                    }
+                    expected++;
+                } else {
+                    Thread.yield();
+                }
+            }
+        });
+        producer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+        consumer.setUncaughtExceptionHandler((thread, e) -> failure.set(e));
+
+        producer.start();
+        consumer.start();
+        producer.join(30_000);
+        consumer.join(30_000);
+
+        assertThat(failure.get()).as("No thread should fail").isNull();
+        assertThat(producer.isAlive() || consumer.isAlive()).as("Both threads should finish").isFalse();
+        assertThat(outOfOrder).as("Every element should be received in order").isEmpty();
+        assertThat(shared.isEmpty()).as("The queue should be drained").isTrue();
+    }
+
+    private static Object putOutcome(Runnable operation) {
+        try {
+            operation.run();
+            return "ok";
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+
+    private static Object getOutcome(Supplier<?> operation) {
+        try {
+            return operation.get();
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+}
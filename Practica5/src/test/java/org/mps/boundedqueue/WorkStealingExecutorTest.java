@@ -0,0 +1,228 @@
+package org.mps.boundedqueue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+/**
+ * <h1>Tests</h1>
+ * <ul>
+ *     <li>
+ *         <b>Tests for invalid arguments or operations:</b>
+ *         <ul>
+ *             <li>Given a non-positive parallelism or capacity, an {@link IllegalArgumentException} is thrown.</li>
+ *             <li>Given a null task, a {@link NullPointerException} is thrown.</li>
+ *             <li>Given a closed executor, an external task is rejected.</li>
+ *             <li>Given busy workers and a full submission queue, an external task is rejected.</li>
+ *             <li>Given a closed executor and full queues, a worker task is rejected as saturated, not as closed.</li>
+ *         </ul>
+ *     </li>
+ *     <li>Given a recursive fan-out of tasks, every task runs and the result is correct.</li>
+ *     <li>Given a failing task, the worker keeps running the following tasks.</li>
+ *     <li>Given accepted tasks, close waits until all of them have finished.</li>
+ *     <li>Given a task that closes its own executor, close returns without waiting for the task.</li>
+ * </ul>
+ */
+class WorkStealingExecutorTest {
+
+    private WorkStealingExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        executor = new WorkStealingExecutor(3, 64);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.close();
+    }
+
+    @Nested
+    @DisplayName("Tests for invalid arguments or operations:")
+    class InvalidArguments {
+        @Test
+        @DisplayName("Given a non-positive parallelism or capacity, an IllegalArgumentException is thrown.")
+        void invalidConstructorArgumentsThrowException() {
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new WorkStealingExecutor(0, 64))
+                    .withMessage("WorkStealingExecutor: parallelism must be positive");
+            assertThatExceptionOfType(IllegalArgumentException.class)
+                    .isThrownBy(() -> new WorkStealingExecutor(2, 0));
+        }
+
+        @Test
+        @DisplayName("Given a null task, a NullPointerException is thrown.")
+        void nullTaskThrowsException() {
+            assertThatExceptionOfType(NullPointerException.class)
+                    .isThrownBy(() -> executor.execute(null));
+        }
+
+        @Test
+        @DisplayName("Given a closed executor, an external task is rejected.")
+        void closedExecutorRejects() {
+            executor.close();
+
+            assertThatExceptionOfType(RejectedExecutionException.class)
+                    .isThrownBy(() -> executor.execute(() -> { }))
+                    .withMessage("execute: executor is closed");
+        }
+
+        @Test
+        @DisplayName("Given busy workers and a full submission queue, an external task is rejected.")
+        void fullExecutorRejects() throws InterruptedException {
+            WorkStealingExecutor small = new WorkStealingExecutor(1, 2);
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            small.execute(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+            started.await();
+            small.execute(() -> { });
+            small.execute(() -> { });
+
+            assertThatExceptionOfType(RejectedExecutionException.class)
+                    .isThrownBy(() -> small.execute(() -> { }))
+                    .withMessage("execute: every queue is full");
+            release.countDown();
+            small.close();
+        }
+
+        @Test
+        @DisplayName("Given a closed executor and full queues, a worker task is rejected as saturated, not as closed.")
+        void saturatedWorkerRejects() throws InterruptedException {
+            WorkStealingExecutor single = new WorkStealingExecutor(1, 2);
+            AtomicReference<String> message = new AtomicReference<>();
+            CountDownLatch done = new CountDownLatch(1);
+            single.execute(() -> {
+                single.close();
+                try {
+                    for (int i = 0; i < 100; i++) {
+                        single.execute(() -> { });
+                    }
+                } catch (RejectedExecutionException e) {
+                    message.set(e.getMessage());
+                }
+                done.countDown();
+            });
+
+            assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(message.get()).isEqualTo("execute: every queue is full");
+            single.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Given a recursive fan-out of tasks, every task runs and the result is correct.")
+    void recursiveFanOut() throws InterruptedException {
+        AtomicLong sum = new AtomicLong();
+        AtomicLong outstanding = new AtomicLong(1);
+        CountDownLatch done = new CountDownLatch(1);
+
+        executor.execute(new Fibonacci(executor, 20, sum, outstanding, done));
+
+        assertThat(done.await(30, TimeUnit.SECONDS)).as("The fan-out should finish").isTrue();
+        assertThat(sum.get()).isEqualTo(6765);
+    }
+
+    @Test
+    @DisplayName("Given a failing task, the worker keeps running the following tasks.")
+    void failingTaskDoesNotStopWorkers() throws InterruptedException {
+        WorkStealingExecutor single = new WorkStealingExecutor(1, 4);
+        CountDownLatch ran = new CountDownLatch(1);
+        Thread.UncaughtExceptionHandler quiet = (thread, e) -> { };
+        single.execute(() -> Thread.currentThread().setUncaughtExceptionHandler(quiet));
+        single.execute(() -> {
+            throw new IllegalStateException("failing task");
+        });
+        single.execute(ran::countDown);
+
+        assertThat(ran.await(30, TimeUnit.SECONDS)).isTrue();
+        single.close();
+    }
+
+    @Test
+    @DisplayName("Given accepted tasks, close waits until all of them have finished.")
+    void closeWaitsForTasks() {
+        AtomicLong finished = new AtomicLong();
+        for (int i = 0; i < 32; i++) {
+            executor.execute(() -> {
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.incrementAndGet();
+            });
+        }
+
+        executor.close();
+
+        assertThat(finished.get()).isEqualTo(32);
+    }
+
+    @Test
+    @DisplayName("Given a task that closes its own executor, close returns without waiting for the task.")
+    void closeFromWorkerDoesNotDeadlock() throws InterruptedException {
+        CountDownLatch closed = new CountDownLatch(1);
+        executor.execute(() -> {
+            executor.close();
+            closed.countDown();
+        });
+
+        assertThat(closed.await(5, TimeUnit.SECONDS)).as("close should return inside the task").isTrue();
+        assertThatExceptionOfType(RejectedExecutionException.class)
+                .isThrownBy(() -> executor.execute(() -> { }));
+    }
+
+    /**
+     * Adds fib(n) to sum by submitting the two recursive calls as tasks, or running them in place if
+     * they are rejected.
+     */
+    private record Fibonacci(Executor executor, int n, AtomicLong sum, AtomicLong outstanding,
+                             CountDownLatch done) implements Runnable {
+
+        @Override
+        public void run() {
+            if (n < 2) {
+                sum.addAndGet(n);
+            } else {
+                fork(n - 1);
+                fork(n - 2);
+            }
+            if (outstanding.decrementAndGet() == 0) {
+                done.countDown();
+            }
+        }
+
+        private void fork(int m) {
+            Fibonacci task = new Fibonacci(executor, m, sum, outstanding, done);
+            outstanding.incrementAndGet();
+            try {
+                executor.execute(task);
+            } catch (RejectedExecutionException e) {
+                task.run();
+            }
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
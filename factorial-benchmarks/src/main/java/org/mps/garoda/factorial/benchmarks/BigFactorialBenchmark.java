@@ -0,0 +1,73 @@
+package org.mps.garoda.factorial.benchmarks;
+
+import org.mps.garoda.factorial.BinarySplitFactorial;
+import org.mps.garoda.factorial.Factorial;
+import org.mps.garoda.factorial.PrimeSwingFactorial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exact {@link BigInteger} factorials from {@code 5!} to {@code 1000000!} with the product-tree
+ * engines. Every trial first checks its engine against {@link ReferenceCheck}. The naive loop is
+ * measured separately by {@link NaiveFactorialBenchmark}, since it cannot reach these sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BigFactorialBenchmark {
+
+    @Param({"binarySplit", "primeSwing", "parallel"})
+    String engine;
+
+    @Param({"5", "100", "1000", "10000", "100000", "1000000"})
+    int n;
+
+    private BinarySplitFactorial binarySplit;
+    private PrimeSwingFactorial primeSwing;
+    private Factorial factorial;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        binarySplit = new BinarySplitFactorial();
+        primeSwing = new PrimeSwingFactorial();
+        factorial = new Factorial();
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        ReferenceCheck.verify(n, compute());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public BigInteger compute() {
+        switch (engine) {
+            case "binarySplit":
+                return binarySplit.compute(n);
+            case "primeSwing":
+                return primeSwing.compute(n);
+            default:
+                return factorial.computeBigValueParallel(n, pool);
+        }
+    }
+}
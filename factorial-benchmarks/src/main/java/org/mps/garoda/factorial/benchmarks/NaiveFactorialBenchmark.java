@@ -0,0 +1,47 @@
+package org.mps.garoda.factorial.benchmarks;
+
+import org.mps.garoda.factorial.Factorial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The one-at-a-time loop of {@link Factorial#computeBigValue(int)}, as the baseline of
+ * {@link BigFactorialBenchmark}. Its quadratic cost limits it to {@code 100000!}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NaiveFactorialBenchmark {
+
+    @Param({"5", "100", "1000", "10000", "100000"})
+    int n;
+
+    private Factorial factorial;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factorial = new Factorial();
+        ReferenceCheck.verify(n, factorial.computeBigValue(n));
+    }
+
+    @Benchmark
+    public BigInteger computeBigValue() {
+        return factorial.computeBigValue(n);
+    }
+}
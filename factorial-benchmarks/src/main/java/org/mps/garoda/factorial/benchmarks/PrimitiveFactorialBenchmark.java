@@ -0,0 +1,59 @@
+package org.mps.garoda.factorial.benchmarks;
+
+import org.mps.garoda.factorial.Factorial;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The factorial paths that return primitives or small boxed values: the {@code int} lookup of
+ * {@link Factorial#compute(int)}, the exact {@code long} lookup, and the adaptive {@code Number}
+ * result. None of them should allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PrimitiveFactorialBenchmark {
+
+    @Param({"5", "12", "20"})
+    int n;
+
+    private Factorial factorial;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        factorial = new Factorial();
+        ReferenceCheck.verifyWrapped(n, factorial.compute(n));
+        ReferenceCheck.verify(n, factorial.computeExactLong(n));
+        ReferenceCheck.verify(n, factorial.computeAuto(n).longValue());
+    }
+
+    @Benchmark
+    public int computeInt() {
+        return factorial.compute(n);
+    }
+
+    @Benchmark
+    public long computeExactLong() {
+        return factorial.computeExactLong(n);
+    }
+
+    @Benchmark
+    public Number computeAuto() {
+        return factorial.computeAuto(n);
+    }
+}
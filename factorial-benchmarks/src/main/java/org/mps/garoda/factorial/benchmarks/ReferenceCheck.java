@@ -0,0 +1,75 @@
+package org.mps.garoda.factorial.benchmarks;
+
+import java.math.BigInteger;
+
+/**
+ * Checks a factorial computed by the code under benchmark against reference values computed here
+ * independently, so that a fast but wrong implementation fails its trial instead of reporting a
+ * score.
+ * <p>
+ * A full reference factorial would take longer than the benchmark itself, so large results are
+ * checked through two properties that a wrong product is very unlikely to share: the remainders
+ * modulo two primes, computed with a plain {@code long} loop, and the bit length, derived from the
+ * sum of {@code log2(i)}.
+ * </p>
+ */
+final class ReferenceCheck {
+
+    private static final long[] PRIMES = {2_147_483_647L, 1_000_000_007L};
+
+    private ReferenceCheck() {
+    }
+
+    /**
+     * @throws IllegalStateException if {@code value} is not {@code n!}
+     */
+    static void verify(int n, BigInteger value) {
+        for (long prime : PRIMES) {
+            long expected = 1;
+            for (int i = 2; i <= n; i++) {
+                expected = expected * i % prime;
+            }
+            long actual = value.mod(BigInteger.valueOf(prime)).longValue();
+            if (actual != expected) {
+                throw new IllegalStateException(n + "! mod " + prime + " should be " + expected + " but was " + actual);
+            }
+        }
+
+        double log2 = 0;
+        for (int i = 2; i <= n; i++) {
+            log2 += Math.log(i);
+        }
+        log2 /= Math.log(2);
+        // the floating-point sum may land on either side of an integer
+        if (Math.abs(value.bitLength() - (Math.floor(log2) + 1)) > 1) {
+            throw new IllegalStateException(n + "! should have about " + (long) (log2 + 1) + " bits but has " + value.bitLength());
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if {@code value} is not {@code n!}
+     */
+    static void verify(int n, long value) {
+        long expected = 1;
+        for (int i = 2; i <= n; i++) {
+            expected = Math.multiplyExact(expected, i);
+        }
+        if (value != expected) {
+            throw new IllegalStateException(n + "! should be " + expected + " but was " + value);
+        }
+    }
+
+    /**
+     * @throws IllegalStateException if {@code value} is not {@code n!} reduced to an {@code int}, the
+     *                               way an overflowing {@code int} product wraps around
+     */
+    static void verifyWrapped(int n, int value) {
+        int expected = 1;
+        for (int i = 2; i <= n; i++) {
+            expected *= i;
+        }
+        if (value != expected) {
+            throw new IllegalStateException(n + "! as an int should be " + expected + " but was " + value);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+
+/**
+ * Exact factorials for large numbers, computed by binary splitting.
+ * <p>
+ * {@code n!} is split into its power of two, {@code 2^(n - bitCount(n))}, and its odd part, which is
+ * the product of the odd numbers up to {@code n >> i} for every {@code i}. Those products are built
+ * incrementally and multiplied as balanced product trees, and the power of two is applied at the end
+ * with a single {@code shiftLeft}.
+ * </p>
+ */
+public class BinarySplitFactorial {
+
+    public BigInteger compute(int number) {
+        if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+        return oddPart(number).shiftLeft(number - Integer.bitCount(number));
+    }
+
+    // the product of the odd numbers up to n >> i, for every i
+    static BigInteger oddPart(int number) {
+        BigInteger oddFactorial = BigInteger.ONE; // odd numbers up to the current n >> i
+        BigInteger result = BigInteger.ONE;
+        int high = 1; // largest odd number in oddFactorial
+        for (int i = 31 - Integer.numberOfLeadingZeros(Math.max(number, 1)); i >= 0; i--) {
+            int top = ((number >> i) - 1) | 1;
+            if (top > high) {
+                oddFactorial = oddFactorial.multiply(ProductTree.ofOddRange(high + 2, top));
+                high = top;
+            }
+            result = result.multiply(oddFactorial);
+        }
+        return result;
+    }
+}
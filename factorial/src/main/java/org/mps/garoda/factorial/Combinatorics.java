@@ -0,0 +1,124 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Binomial and multinomial coefficients, computed from their prime factorization instead of from
+ * factorials.
+ * <p>
+ * By Legendre's formula, the exponent of a prime {@code p} in {@code n!} is the sum of
+ * {@code n / p^i} for {@code i >= 1}, so the exponent of {@code p} in a coefficient is a difference of
+ * such sums. The resulting prime powers are multiplied with a product tree, and no factorial is ever
+ * built. Pascal rows can also be produced whole, or advanced in place from one row to the next.
+ * </p>
+ */
+public class Combinatorics {
+
+    /**
+     * @return {@code n! / (k! (n-k)!)}, or {@code 0} if {@code k} is negative or greater than {@code n}
+     */
+    public BigInteger binomial(int n, int k) {
+        if (n < 0) throw new NegativeValueException("The value " + n + " is negative");
+        if (k < 0 || k > n) return BigInteger.ZERO;
+        return coefficient(n, k, n - k);
+    }
+
+    /**
+     * @return {@code (k1 + ... + km)! / (k1! ... km!)}, which is {@code 1} for no parts
+     * @throws ArithmeticException if the sum of the parts overflows an {@code int}
+     */
+    public BigInteger multinomial(int... parts) {
+        int n = 0;
+        for (int part : parts) {
+            if (part < 0) throw new NegativeValueException("The value " + part + " is negative");
+            n = Math.addExact(n, part);
+        }
+        return coefficient(n, parts);
+    }
+
+    private static BigInteger coefficient(int n, int... parts) {
+        int[] primes = Primes.upTo(n);
+        long[] factors = new long[primes.length];
+        int count = 0;
+        for (int prime : primes) {
+            long exponent = legendre(n, prime);
+            for (int part : parts) {
+                exponent -= legendre(part, prime);
+            }
+            long power = 1;
+            for (long e = 0; e < exponent; e++) {
+                if (power > Long.MAX_VALUE / prime) {
+                    if (count == factors.length) factors = Arrays.copyOf(factors, 2 * count);
+                    factors[count++] = power;
+                    power = 1;
+                }
+                power *= prime;
+            }
+            if (power > 1) {
+                if (count == factors.length) factors = Arrays.copyOf(factors, 2 * count);
+                factors[count++] = power;
+            }
+        }
+        return ProductTree.of(factors, 0, count);
+    }
+
+    // the exponent of prime in n!
+    private static long legendre(int n, int prime) {
+        long exponent = 0;
+        for (long q = n / prime; q > 0; q /= prime) {
+            exponent += q;
+        }
+        return exponent;
+    }
+
+    /**
+     * Returns the row {@code n} of Pascal's triangle, {@code C(n, 0), ..., C(n, n)}. Every coefficient
+     * is derived from the previous one with a small multiplication and division, and only the first
+     * half is computed since the row is symmetric.
+     */
+    public BigInteger[] pascalRow(int n) {
+        if (n < 0) throw new NegativeValueException("The value " + n + " is negative");
+        BigInteger[] row = new BigInteger[n + 1];
+        row[0] = BigInteger.ONE;
+        for (int k = 1; k <= n / 2; k++) {
+            row[k] = row[k - 1].multiply(BigInteger.valueOf(n - k + 1)).divide(BigInteger.valueOf(k));
+        }
+        for (int k = n / 2 + 1; k <= n; k++) {
+            row[k] = row[n - k];
+        }
+        return row;
+    }
+
+    /**
+     * Turns the row {@code n} of Pascal's triangle, held in {@code row[0..n]}, into the row
+     * {@code n + 1} in place, so that consecutive rows can be streamed through a single array.
+     *
+     * @throws IllegalArgumentException if {@code row} is shorter than {@code n + 2}
+     */
+    public void nextPascalRow(BigInteger[] row, int n) {
+        if (n < 0) throw new NegativeValueException("The value " + n + " is negative");
+        if (row.length < n + 2) throw new IllegalArgumentException("The row array is too short");
+        row[n + 1] = BigInteger.ONE;
+        for (int k = n; k > 0; k--) {
+            row[k] = row[k].add(row[k - 1]);
+        }
+    }
+
+    /**
+     * Turns the row {@code n} of Pascal's triangle, held in {@code row[0..n]}, into the row
+     * {@code n + 1} in place, without allocating. Rows up to {@code 66} fit in a {@code long}.
+     *
+     * @throws ArithmeticException      if a coefficient of the row {@code n + 1} overflows a {@code long},
+     *                                  in which case the row is left partially updated
+     * @throws IllegalArgumentException if {@code row} is shorter than {@code n + 2}
+     */
+    public void nextPascalRow(long[] row, int n) {
+        if (n < 0) throw new NegativeValueException("The value " + n + " is negative");
+        if (row.length < n + 2) throw new IllegalArgumentException("The row array is too short");
+        row[n + 1] = 1;
+        for (int k = n; k > 0; k--) {
+            row[k] = Math.addExact(row[k], row[k - 1]);
+        }
+    }
+}
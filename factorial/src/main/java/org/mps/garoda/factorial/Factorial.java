@@ -1,10 +1,14 @@
 package org.mps.garoda.factorial;
 
 import java.math.BigInteger;
+import java.util.concurrent.ForkJoinPool;
 
 public class Factorial {
+    private static final BinarySplitFactorial BINARY_SPLIT = new BinarySplitFactorial();
+
     public int compute(int number){
         if(number < 0) throw new NegativeValueException("The value " + number + " is negative");
+        if(number <= FactorialTables.MAX_INT_ARGUMENT) return FactorialTables.INT[number];
         int result = 1;
         for (int i = number; i > 1 ; i--) result *= i;
         return result;
@@ -13,7 +17,39 @@ public class Factorial {
 		if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
 		BigInteger result;
 		result = BigInteger.ONE;
-		for (int i = number; i > 1 ; i--) result = result.multiply(BigInteger.valueOf(number));
+		for (int i = number; i > 1 ; i--) result = result.multiply(BigInteger.valueOf(i));
 		return result;
   }
+
+	/**
+	 * Computes the factorial as a {@code long}, which holds every factorial up to {@code 20!}.
+	 *
+	 * @throws ArithmeticException if the factorial does not fit in a {@code long}
+	 */
+	public long computeExactLong(int number) {
+		if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+		if (number > FactorialTables.MAX_LONG_ARGUMENT) throw new ArithmeticException("The factorial of " + number + " overflows a long");
+		return FactorialTables.LONG[number];
+	}
+
+	/**
+	 * Computes the factorial as a {@link Long} while it fits, without allocating, and as a
+	 * {@link BigInteger} beyond {@code 20!}.
+	 */
+	public Number computeAuto(int number) {
+		if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+		if (number <= FactorialTables.MAX_LONG_ARGUMENT) return FactorialTables.BOXED[number];
+		return BINARY_SPLIT.compute(number);
+	}
+
+	/**
+	 * Computes the factorial in the given pool, splitting the product tree of
+	 * {@link BinarySplitFactorial} into subtasks. The result is the same as the one of
+	 * {@link #computeBigValue(int)}.
+	 */
+	public BigInteger computeBigValueParallel(int number, ForkJoinPool pool) {
+		if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+		if (pool == null) throw new IllegalArgumentException("The pool cannot be null");
+		return pool.invoke(new ParallelOddPartTask(number)).shiftLeft(number - Integer.bitCount(number));
+	}
 }
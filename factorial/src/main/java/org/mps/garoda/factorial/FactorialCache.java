@@ -0,0 +1,143 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A thread-safe factorial calculator that remembers the factorials of the multiples of a stride, so
+ * that the factorial of a nearby number only multiplies forward from the closest checkpoint below it.
+ * <p>
+ * Factorials up to {@code 20!} come from a table. Checkpoints are evicted in least recently used
+ * order once their estimated size exceeds a budget in bytes, since large factorials are heavy.
+ * </p>
+ */
+public class FactorialCache {
+
+    // estimated bytes taken by a BigInteger and its map entry, besides its magnitude
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final int stride; // distance between consecutive checkpoints
+    private final long maxBytes; // budget for the checkpoints
+    private final LinkedHashMap<Integer, BigInteger> checkpoints; // k -> (k * stride)!, in access order
+    private final TreeSet<Integer> sorted; // the keys of checkpoints, to find the closest one below k
+    private long bytes; // estimated size of the checkpoints
+    private final LongAdder hits; // computations that found their checkpoint
+    private final LongAdder misses; // computations that had to build their checkpoint
+    private final LongAdder evictions; // checkpoints evicted to stay within the budget
+    private final BinarySplitFactorial fallback; // computes checkpoints when none is cached below
+
+    /**
+     * @param stride   the distance between consecutive checkpoints
+     * @param maxBytes the estimated size in bytes that the checkpoints may take
+     * @throws IllegalArgumentException if the stride or the budget is not positive
+     */
+    public FactorialCache(int stride, long maxBytes) {
+        if (stride <= 0) throw new IllegalArgumentException("The stride " + stride + " is not positive");
+        if (maxBytes <= 0) throw new IllegalArgumentException("The budget " + maxBytes + " is not positive");
+        this.stride = stride;
+        this.maxBytes = maxBytes;
+        checkpoints = new LinkedHashMap<>(16, 0.75f, true);
+        sorted = new TreeSet<>();
+        hits = new LongAdder();
+        misses = new LongAdder();
+        evictions = new LongAdder();
+        fallback = new BinarySplitFactorial();
+    }
+
+    public BigInteger compute(int number) {
+        if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+        if (number <= FactorialTables.MAX_LONG_ARGUMENT) return BigInteger.valueOf(FactorialTables.LONG[number]);
+
+        int k = number / stride;
+        BigInteger checkpoint = k == 0 ? BigInteger.ONE : checkpoint(k);
+        return checkpoint.multiply(ProductTree.ofRange((long) k * stride + 1, number));
+    }
+
+    // returns (k * stride)!, building and caching it if needed
+    private BigInteger checkpoint(int k) {
+        int below = 0;
+        BigInteger start = BigInteger.ONE;
+        synchronized (checkpoints) {
+            BigInteger cached = checkpoints.get(k);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+            misses.increment();
+            Integer j = sorted.lower(k);
+            if (j != null) {
+                below = j;
+                start = checkpoints.get(j);
+            }
+        }
+
+        int base = k * stride;
+        BigInteger value = below == 0
+                ? fallback.compute(base)
+                : start.multiply(ProductTree.ofRange((long) below * stride + 1, base));
+        store(k, value);
+        return value;
+    }
+
+    private void store(int k, BigInteger value) {
+        long size = sizeOf(value);
+        if (size > maxBytes) return;
+        synchronized (checkpoints) {
+            BigInteger previous = checkpoints.put(k, value);
+            if (previous != null) bytes -= sizeOf(previous);
+            bytes += size;
+            sorted.add(k);
+            Iterator<Map.Entry<Integer, BigInteger>> eldest = checkpoints.entrySet().iterator();
+            while (bytes > maxBytes) {
+                Map.Entry<Integer, BigInteger> entry = eldest.next();
+                BigInteger evicted = entry.getValue();
+                sorted.remove(entry.getKey());
+                eldest.remove();
+                bytes -= sizeOf(evicted);
+                evictions.increment();
+            }
+        }
+    }
+
+    private static long sizeOf(BigInteger value) {
+        return value.bitLength() / 8 + ENTRY_OVERHEAD;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    /**
+     * @return the number of computations, above {@code 20!}, whose checkpoint was cached
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of computations, above {@code 20!}, that had to build their checkpoint
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of checkpoints evicted to stay within the budget
+     */
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return the estimated size in bytes of the cached checkpoints
+     */
+    public long sizeInBytes() {
+        synchronized (checkpoints) {
+            return bytes;
+        }
+    }
+}
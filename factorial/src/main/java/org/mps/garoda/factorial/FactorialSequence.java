@@ -0,0 +1,113 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The consecutive factorials {@code 0!, 1!, ..., N!} as streams, where every factorial is the previous
+ * one times a small number, so the whole sequence costs {@code N} multiplications.
+ * <p>
+ * A parallel stream splits the range into chunks, and every chunk starts from its own seed factorial,
+ * computed by {@link BinarySplitFactorial} on the thread that processes the chunk, before continuing
+ * incrementally.
+ * </p>
+ */
+public class FactorialSequence {
+
+    // chunks smaller than this are not split, since computing their seed costs more than it saves
+    private static final int MIN_CHUNK = 64;
+
+    private static final BinarySplitFactorial SEEDS = new BinarySplitFactorial();
+
+    /**
+     * @return the factorials from {@code 0!} to {@code last!}, in order
+     */
+    public Stream<BigInteger> stream(int last) {
+        if (last < 0) throw new NegativeValueException("The value " + last + " is negative");
+        if (last == Integer.MAX_VALUE) throw new IllegalArgumentException("The value " + last + " is too large");
+        return StreamSupport.stream(new FactorialSpliterator(0, last + 1, null), false);
+    }
+
+    /**
+     * @return the factorials from {@code 0!} to {@code last!}, in order, as primitive {@code long}s
+     * @throws ArithmeticException if {@code last!} does not fit in a {@code long}, that is, if
+     *                             {@code last > 20}
+     */
+    public LongStream longStream(int last) {
+        if (last < 0) throw new NegativeValueException("The value " + last + " is negative");
+        if (last > FactorialTables.MAX_LONG_ARGUMENT) throw new ArithmeticException("The factorial of " + last + " overflows a long");
+        return IntStream.rangeClosed(0, last).mapToLong(n -> FactorialTables.LONG[n]);
+    }
+
+    /**
+     * The factorials of the numbers in {@code [origin, fence)}.
+     */
+    private static final class FactorialSpliterator implements Spliterator<BigInteger> {
+
+        private int origin; // the next number whose factorial is returned
+        private final int fence; // the number following the last one
+        private BigInteger previous; // (origin - 1)!, or null if not computed yet
+
+        FactorialSpliterator(int origin, int fence, BigInteger previous) {
+            this.origin = origin;
+            this.fence = fence;
+            this.previous = previous;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super BigInteger> action) {
+            if (origin >= fence) {
+                return false;
+            }
+            previous = next();
+            origin++;
+            action.accept(previous);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super BigInteger> action) {
+            while (origin < fence) {
+                previous = next();
+                origin++;
+                action.accept(previous);
+            }
+        }
+
+        private BigInteger next() {
+            if (previous != null) {
+                return previous.multiply(BigInteger.valueOf(origin));
+            }
+            return origin <= FactorialTables.MAX_LONG_ARGUMENT
+                    ? BigInteger.valueOf(FactorialTables.LONG[origin])
+                    : SEEDS.compute(origin);
+        }
+
+        @Override
+        public Spliterator<BigInteger> trySplit() {
+            int middle = (origin + fence) >>> 1;
+            if (middle - origin < MIN_CHUNK) {
+                return null;
+            }
+            FactorialSpliterator prefix = new FactorialSpliterator(origin, middle, previous);
+            origin = middle;
+            previous = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - origin;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package org.mps.garoda.factorial;
+
+/**
+ * Every factorial that fits in an {@code int} or a {@code long}, computed once.
+ */
+final class FactorialTables {
+
+    /**
+     * Largest number whose factorial fits in an {@code int}.
+     */
+    static final int MAX_INT_ARGUMENT = 12;
+
+    /**
+     * Largest number whose factorial fits in a {@code long}.
+     */
+    static final int MAX_LONG_ARGUMENT = 20;
+
+    /**
+     * {@code INT[n]} is {@code n!}, for {@code 0 <= n <= 12}.
+     */
+    static final int[] INT = new int[MAX_INT_ARGUMENT + 1];
+
+    /**
+     * {@code LONG[n]} is {@code n!}, for {@code 0 <= n <= 20}.
+     */
+    static final long[] LONG = new long[MAX_LONG_ARGUMENT + 1];
+
+    /**
+     * {@code BOXED[n]} is {@code LONG[n]}, boxed once so that returning it never allocates.
+     */
+    static final Long[] BOXED = new Long[MAX_LONG_ARGUMENT + 1];
+
+    static {
+        LONG[0] = 1;
+        for (int n = 1; n <= MAX_LONG_ARGUMENT; n++) {
+            LONG[n] = LONG[n - 1] * n;
+        }
+        for (int n = 0; n <= MAX_LONG_ARGUMENT; n++) {
+            BOXED[n] = LONG[n];
+        }
+        for (int n = 0; n <= MAX_INT_ARGUMENT; n++) {
+            INT[n] = (int) LONG[n];
+        }
+    }
+
+    private FactorialTables() {
+    }
+}
@@ -0,0 +1,64 @@
+package org.mps.garoda.factorial;
+
+/**
+ * Natural logarithms of factorials, for numbers whose factorial is far too large to compute.
+ * <p>
+ * {@code log(n!)} is read from a table for {@code n < 256}, and computed with Stirling's series beyond
+ * it, where the first four correction terms already leave an error below the precision of a
+ * {@code double}.
+ * </p>
+ */
+public class LogFactorial {
+
+    private static final int TABLE_SIZE = 256;
+    private static final double HALF_LOG_TWO_PI = 0.5 * Math.log(2 * Math.PI);
+
+    // TABLE[n] is log(n!)
+    private static final double[] TABLE = new double[TABLE_SIZE];
+
+    static {
+        for (int n = 2; n < TABLE_SIZE; n++) {
+            TABLE[n] = TABLE[n - 1] + Math.log(n);
+        }
+    }
+
+    public double logFactorial(long number) {
+        if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+        return number < TABLE_SIZE ? TABLE[(int) number] : stirling(number);
+    }
+
+    /**
+     * Computes {@code log(numbers[i]!)} for every {@code i} in a single loop.
+     *
+     * @return the logarithms, in the order of {@code numbers}
+     */
+    public double[] logFactorial(long[] numbers) {
+        double[] results = new double[numbers.length];
+        logFactorial(numbers, results);
+        return results;
+    }
+
+    /**
+     * Stores {@code log(numbers[i]!)} in {@code results[i]} for every {@code i}, without allocating.
+     *
+     * @throws IllegalArgumentException if {@code results} is shorter than {@code numbers}
+     */
+    public void logFactorial(long[] numbers, double[] results) {
+        if (results.length < numbers.length) throw new IllegalArgumentException("The results array is too short");
+        for (int i = 0; i < numbers.length; i++) {
+            long number = numbers[i];
+            if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+            results[i] = number < TABLE_SIZE ? TABLE[(int) number] : stirling(number);
+        }
+    }
+
+    // (n + 1/2) log n - n + log(2 pi) / 2 + 1/(12 n) - 1/(360 n^3) + 1/(1260 n^5) - 1/(1680 n^7)
+    private static double stirling(long number) {
+        double n = number;
+        double inverse = 1 / n;
+        double inverseSquared = inverse * inverse;
+        double correction = inverse * (1.0 / 12 - inverseSquared * (1.0 / 360
+                - inverseSquared * (1.0 / 1260 - inverseSquared / 1680)));
+        return (n + 0.5) * Math.log(n) - n + HALF_LOG_TWO_PI + correction;
+    }
+}
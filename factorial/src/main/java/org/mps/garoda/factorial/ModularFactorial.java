@@ -0,0 +1,137 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Factorials modulo a prime, for numbers far too large for an exact factorial.
+ * <p>
+ * {@code n! mod p} is {@code 0} when {@code n >= p}. Otherwise, Wilson's theorem,
+ * {@code (p-1)! = -1 mod p}, gives {@code n! = (-1)^(m+1) / m! mod p} with {@code m = p - 1 - n}, so
+ * at most {@code p / 2} numbers are ever multiplied. Those multiplications are done in Montgomery form,
+ * in blocks of four consecutive numbers feeding independent products so that they overlap in the
+ * processor.
+ * </p>
+ */
+public class ModularFactorial {
+
+    /**
+     * @param number the number whose factorial is computed
+     * @param prime  a prime below {@code 2^62}
+     * @return {@code number! mod prime}
+     * @throws IllegalArgumentException if {@code prime} is not a prime below {@code 2^62}
+     */
+    public long factorialMod(long number, long prime) {
+        if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+        checkPrime(prime);
+        if (number >= prime) return 0;
+        if (prime == 2) return 1;
+
+        Montgomery montgomery = new Montgomery(prime);
+        long m = reduced(number, prime);
+        long factorial = product(montgomery, montgomery.one, 1, m);
+        return montgomery.fromMontgomery(finish(montgomery, number, m, factorial));
+    }
+
+    /**
+     * Computes {@code numbers[i]! mod prime} for every {@code i}. The distinct numbers are sorted so
+     * that every factorial continues the product of the previous one, and the whole batch costs as
+     * many multiplications as its largest member.
+     *
+     * @param numbers the numbers whose factorials are computed
+     * @param prime   a prime below {@code 2^62}
+     * @return the factorials modulo {@code prime}, in the order of {@code numbers}
+     * @throws IllegalArgumentException if {@code prime} is not a prime below {@code 2^62}
+     */
+    public long[] factorialMod(long[] numbers, long prime) {
+        checkPrime(prime);
+        for (long number : numbers) {
+            if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+        }
+        long[] results = new long[numbers.length];
+        if (prime == 2) {
+            for (int i = 0; i < numbers.length; i++) {
+                results[i] = numbers[i] < 2 ? 1 : 0;
+            }
+            return results;
+        }
+
+        Montgomery montgomery = new Montgomery(prime);
+        long[] targets = new long[numbers.length];
+        int count = 0;
+        for (long number : numbers) {
+            if (number < prime) {
+                targets[count++] = reduced(number, prime);
+            }
+        }
+        Arrays.sort(targets, 0, count);
+
+        // factorials[j] is targets[j]! in Montgomery form
+        long[] factorials = new long[count];
+        long factorial = montgomery.one;
+        long done = 1; // factorial holds done!
+        for (int j = 0; j < count; j++) {
+            factorial = product(montgomery, factorial, done, targets[j]);
+            done = Math.max(done, targets[j]);
+            factorials[j] = factorial;
+        }
+
+        for (int i = 0; i < numbers.length; i++) {
+            long number = numbers[i];
+            if (number >= prime) {
+                results[i] = 0;
+            } else {
+                long m = reduced(number, prime);
+                long mFactorial = factorials[Arrays.binarySearch(targets, 0, count, m)];
+                results[i] = montgomery.fromMontgomery(finish(montgomery, number, m, mFactorial));
+            }
+        }
+        return results;
+    }
+
+    private static void checkPrime(long prime) {
+        if (prime < 2 || prime >= Montgomery.MAX_MODULUS || !BigInteger.valueOf(prime).isProbablePrime(64))
+            throw new IllegalArgumentException("The modulus " + prime + " is not a prime below 2^62");
+    }
+
+    // the number whose factorial is actually multiplied: number itself, or p - 1 - number if smaller
+    private static long reduced(long number, long prime) {
+        return Math.min(number, prime - 1 - number);
+    }
+
+    // number! from m!, in Montgomery form, where m is reduced(number)
+    private static long finish(Montgomery montgomery, long number, long m, long mFactorial) {
+        if (m == number) return mFactorial;
+        long inverse = montgomery.pow(mFactorial, montgomery.modulus - 2);
+        // inverse is never 0, since m! has no factor p
+        return (m & 1) == 1 ? inverse : montgomery.modulus - inverse;
+    }
+
+    // factorial * (from + 1) * ... * to, in Montgomery form
+    private static long product(Montgomery montgomery, long factorial, long from, long to) {
+        if (to <= from) return factorial;
+        long count = to - from;
+        long x0 = montgomery.toMontgomery(from + 1);
+        long x1 = montgomery.increment(x0);
+        long x2 = montgomery.increment(x1);
+        long x3 = montgomery.increment(x2);
+        long four = montgomery.toMontgomery(4);
+        long p0 = factorial, p1 = montgomery.one, p2 = montgomery.one, p3 = montgomery.one;
+        long blocks = count / 4;
+        for (long b = 0; b < blocks; b++) {
+            p0 = montgomery.multiply(p0, x0);
+            p1 = montgomery.multiply(p1, x1);
+            p2 = montgomery.multiply(p2, x2);
+            p3 = montgomery.multiply(p3, x3);
+            x0 = montgomery.add(x0, four);
+            x1 = montgomery.add(x1, four);
+            x2 = montgomery.add(x2, four);
+            x3 = montgomery.add(x3, four);
+        }
+        for (long r = blocks * 4; r < count; r++) {
+            p0 = montgomery.multiply(p0, x0);
+            x0 = montgomery.increment(x0);
+        }
+        return montgomery.multiply(montgomery.multiply(p0, p1), montgomery.multiply(p2, p3));
+    }
+}
@@ -0,0 +1,81 @@
+package org.mps.garoda.factorial;
+
+/**
+ * Modular arithmetic in Montgomery form for an odd modulus below {@code 2^62}, with {@code R = 2^64}:
+ * a number {@code x} is represented as {@code x * R mod p}, so that a modular multiplication needs
+ * two high multiplications and no division.
+ */
+final class Montgomery {
+
+    static final long MAX_MODULUS = 1L << 62;
+
+    final long modulus;
+    final long one; // 1 in Montgomery form
+    private final long negatedInverse; // -modulus^-1 mod 2^64
+    private final long rSquared; // R^2 mod modulus
+
+    Montgomery(long modulus) {
+        this.modulus = modulus;
+        long inverse = modulus; // correct to 3 bits, since modulus * modulus = 1 mod 8
+        for (int i = 0; i < 5; i++) {
+            inverse *= 2 - modulus * inverse; // Newton's iteration doubles the correct bits
+        }
+        negatedInverse = -inverse;
+        one = Long.remainderUnsigned(-modulus, modulus); // 2^64 mod modulus
+        long r = one;
+        for (int i = 0; i < 64; i++) {
+            r = add(r, r);
+        }
+        rSquared = r;
+    }
+
+    /**
+     * Returns {@code a + b mod p}, for {@code a} and {@code b} in {@code [0, p)}, in either form.
+     */
+    long add(long a, long b) {
+        long sum = a + b;
+        return sum >= modulus ? sum - modulus : sum;
+    }
+
+    /**
+     * Returns {@code a * b / R mod p}, for {@code a} and {@code b} in {@code [0, p)}.
+     */
+    long multiply(long a, long b) {
+        long low = a * b;
+        long high = Math.unsignedMultiplyHigh(a, b);
+        long m = low * negatedInverse;
+        // low + low(m * modulus) is 0 mod 2^64, and carries exactly when low is not 0
+        long t = high + Math.unsignedMultiplyHigh(m, modulus) + (low != 0 ? 1 : 0);
+        return t >= modulus ? t - modulus : t;
+    }
+
+    long toMontgomery(long x) {
+        return multiply(x % modulus, rSquared);
+    }
+
+    long fromMontgomery(long x) {
+        return multiply(x, 1);
+    }
+
+    /**
+     * Returns {@code x + 1} in Montgomery form, for {@code x} in Montgomery form.
+     */
+    long increment(long x) {
+        return add(x, one);
+    }
+
+    /**
+     * Returns {@code base^exponent} in Montgomery form, for {@code base} in Montgomery form.
+     */
+    long pow(long base, long exponent) {
+        long result = one;
+        while (exponent > 0) {
+            if ((exponent & 1) == 1) {
+                result = multiply(result, base);
+            }
+            base = multiply(base, base);
+            exponent >>= 1;
+        }
+        return result;
+    }
+}
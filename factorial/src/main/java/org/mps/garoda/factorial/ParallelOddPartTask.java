@@ -0,0 +1,73 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Computes the odd part of {@code n!} in a fork-join pool, splitting the same product tree as
+ * {@link BinarySplitFactorial}: the odd numbers of every range {@code (n >> (i + 1), n >> i]} are
+ * multiplied by their own subtasks, which keep splitting in halves while they hold more than
+ * {@link #THRESHOLD} factors, and the results are combined up the tree.
+ */
+final class ParallelOddPartTask extends RecursiveTask<BigInteger> {
+
+    /**
+     * Number of odd factors below which a range is multiplied sequentially. Smaller ranges finish
+     * faster than the cost of forking them.
+     */
+    static final int THRESHOLD = 2048;
+
+    private final int number;
+
+    ParallelOddPartTask(int number) {
+        this.number = number;
+    }
+
+    @Override
+    protected BigInteger compute() {
+        int levels = 32 - Integer.numberOfLeadingZeros(Math.max(number, 1));
+        OddRangeTask[] ranges = new OddRangeTask[levels];
+        int high = 1; // largest odd number in the previous ranges
+        for (int i = levels - 1; i >= 0; i--) {
+            int top = ((number >> i) - 1) | 1;
+            ranges[i] = new OddRangeTask(high + 2, Math.max(top, high));
+            ranges[i].fork();
+            high = Math.max(top, high);
+        }
+
+        BigInteger oddFactorial = BigInteger.ONE;
+        BigInteger result = BigInteger.ONE;
+        for (int i = levels - 1; i >= 0; i--) {
+            oddFactorial = oddFactorial.multiply(ranges[i].join());
+            result = result.multiply(oddFactorial);
+        }
+        return result;
+    }
+
+    /**
+     * Product of the odd numbers in {@code [low, high]}.
+     */
+    private static final class OddRangeTask extends RecursiveTask<BigInteger> {
+
+        private final long low;
+        private final long high;
+
+        OddRangeTask(long low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        @Override
+        protected BigInteger compute() {
+            long count = low > high ? 0 : (high - low) / 2 + 1;
+            if (count <= THRESHOLD) {
+                return ProductTree.ofOddRange(low, high);
+            }
+            long middle = low + 2 * (count / 2);
+            OddRangeTask left = new OddRangeTask(low, middle - 2);
+            left.fork();
+            BigInteger right = new OddRangeTask(middle, high).compute();
+            return left.join().multiply(right);
+        }
+    }
+}
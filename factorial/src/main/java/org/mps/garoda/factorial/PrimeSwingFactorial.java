@@ -0,0 +1,57 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+
+/**
+ * Exact factorials for large numbers, computed with Peter Luschny's prime swing algorithm.
+ * <p>
+ * The swing of {@code n} is {@code n! / ((n/2)!)^2}, and its prime factorization follows directly
+ * from {@code n}, so {@code n!} is computed recursively as {@code ((n/2)!)^2} times a product of
+ * prime powers. Powers of two are left out of every step and applied at the end with a single
+ * {@code shiftLeft}.
+ * </p>
+ */
+public class PrimeSwingFactorial {
+
+    public BigInteger compute(int number) {
+        if (number < 0) throw new NegativeValueException("The value " + number + " is negative");
+        int[] primes = Primes.upTo(number);
+        long[] factors = new long[primes.length];
+        return oddPart(number, primes, factors).shiftLeft(number - Integer.bitCount(number));
+    }
+
+    private static BigInteger oddPart(int number, int[] primes, long[] factors) {
+        if (number < 3) {
+            return BigInteger.ONE;
+        }
+        BigInteger half = oddPart(number / 2, primes, factors);
+        return half.multiply(half).multiply(oddSwing(number, primes, factors));
+    }
+
+    // the odd part of the swing of number, as the product of its odd prime powers
+    private static BigInteger oddSwing(int number, int[] primes, long[] factors) {
+        int root = (int) Math.sqrt(number);
+        int count = 0;
+        for (int i = 1; i < primes.length && primes[i] <= number; i++) {
+            int prime = primes[i];
+            if (prime <= root) {
+                long power = 1;
+                for (int q = number / prime; q > 0; q /= prime) {
+                    if ((q & 1) == 1) {
+                        power *= prime;
+                    }
+                }
+                if (power > 1) {
+                    factors[count++] = power;
+                }
+            } else if (prime <= number / 3) {
+                if (((number / prime) & 1) == 1) {
+                    factors[count++] = prime;
+                }
+            } else if (prime > number / 2) {
+                factors[count++] = prime;
+            }
+        }
+        return ProductTree.of(factors, 0, count);
+    }
+}
@@ -0,0 +1,45 @@
+package org.mps.garoda.factorial;
+
+import java.util.Arrays;
+
+/**
+ * The primes up to a bound, found with a sieve of Eratosthenes that only stores the odd numbers.
+ */
+final class Primes {
+
+    private Primes() {
+    }
+
+    /**
+     * Returns the primes not greater than {@code n}, in increasing order.
+     */
+    static int[] upTo(int n) {
+        if (n < 2) {
+            return new int[0];
+        }
+        // composite[i] tells whether 2 * i + 1 is composite
+        boolean[] composite = new boolean[n / 2 + 1];
+        for (long i = 3; i * i <= n; i += 2) {
+            if (!composite[(int) (i / 2)]) {
+                for (long multiple = i * i; multiple <= n; multiple += 2 * i) {
+                    composite[(int) (multiple / 2)] = true;
+                }
+            }
+        }
+
+        int[] primes = new int[estimatedCount(n)];
+        int count = 0;
+        primes[count++] = 2;
+        for (int i = 1; 2L * i + 1 <= n; i++) {
+            if (!composite[i]) {
+                primes[count++] = 2 * i + 1;
+            }
+        }
+        return Arrays.copyOf(primes, count);
+    }
+
+    // an upper bound of the number of primes not greater than n (Rosser and Schoenfeld)
+    private static int estimatedCount(int n) {
+        return n < 17 ? 7 : (int) (1.25506 * n / Math.log(n)) + 1;
+    }
+}
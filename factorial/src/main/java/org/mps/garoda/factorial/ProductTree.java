@@ -0,0 +1,69 @@
+package org.mps.garoda.factorial;
+
+import java.math.BigInteger;
+
+/**
+ * Products of many factors computed as a balanced binary tree, so that the big multiplications
+ * happen between operands of similar size, where {@link BigInteger} switches to Karatsuba and
+ * Toom-Cook.
+ */
+final class ProductTree {
+
+    private ProductTree() {
+    }
+
+    /**
+     * Returns the product of the odd numbers in {@code [low, high]}, both odd, or {@code 1} if the
+     * range is empty.
+     */
+    static BigInteger ofOddRange(long low, long high) {
+        if (low > high) {
+            return BigInteger.ONE;
+        }
+        long count = (high - low) / 2 + 1;
+        if (count == 1) {
+            return BigInteger.valueOf(low);
+        }
+        if (count == 2 && high < (1L << 31)) {
+            return BigInteger.valueOf(low * high);
+        }
+        long middle = low + 2 * (count / 2);
+        return ofOddRange(low, middle - 2).multiply(ofOddRange(middle, high));
+    }
+
+    /**
+     * Returns the product of the numbers in {@code [low, high]}, or {@code 1} if the range is empty.
+     */
+    static BigInteger ofRange(long low, long high) {
+        if (low > high) {
+            return BigInteger.ONE;
+        }
+        if (low == high) {
+            return BigInteger.valueOf(low);
+        }
+        if (high - low == 1 && high < (1L << 31)) {
+            return BigInteger.valueOf(low * high);
+        }
+        long middle = low + (high - low) / 2;
+        return ofRange(low, middle).multiply(ofRange(middle + 1, high));
+    }
+
+    /**
+     * Returns the product of {@code factors[from..to-1]}, or {@code 1} if the slice is empty.
+     */
+    static BigInteger of(long[] factors, int from, int to) {
+        int count = to - from;
+        if (count <= 0) {
+            return BigInteger.ONE;
+        }
+        if (count == 1) {
+            return BigInteger.valueOf(factors[from]);
+        }
+        if (count == 2 && Math.multiplyHigh(factors[from], factors[from + 1]) == 0
+                && factors[from] * factors[from + 1] >= 0) {
+            return BigInteger.valueOf(factors[from] * factors[from + 1]);
+        }
+        int middle = from + count / 2;
+        return of(factors, from, middle).multiply(of(factors, middle, to));
+    }
+}
@@ -0,0 +1,102 @@
+package org.mps.garoda.factorial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h2>Test cases</h2>
+ * <ol>
+ *     <li>binomial n k -> n! / (k! (n-k)!), for every k and every n up to 60</li>
+ *     <li>binomial 100 50 -> 100891344545564193334812497256</li>
+ *     <li>binomial 100000 50000 -> the same value as dividing the exact factorials</li>
+ *     <li>binomial n k with k < 0 or k > n -> 0</li>
+ *     <li>multinomial 2 3 4 -> 1260, multinomial of no parts -> 1</li>
+ *     <li>pascal row 10 -> 1 10 45 120 210 252 210 120 45 10 1</li>
+ *     <li>pascal rows streamed in place up to 66 -> the binomials; row 67 -> {@link ArithmeticException}</li>
+ *     <li>binomial -1 0 or multinomial with a negative part -> {@link NegativeValueException}</li>
+ * </ol>
+ */
+class CombinatoricsTest {
+
+    private Combinatorics combinatorics;
+
+    @BeforeEach
+    void setup() {
+        combinatorics = new Combinatorics();
+    }
+
+    @Test
+    void binomialMatchesFactorials() {
+        Factorial factorial = new Factorial();
+        for (int n = 0; n <= 60; n++) {
+            for (int k = 0; k <= n; k++) {
+                BigInteger expected = factorial.computeBigValue(n)
+                        .divide(factorial.computeBigValue(k).multiply(factorial.computeBigValue(n - k)));
+                assertEquals(expected, combinatorics.binomial(n, k), "C(" + n + ", " + k + ")");
+            }
+        }
+    }
+
+    @Test
+    void binomialOf100And50() {
+        assertEquals(new BigInteger("100891344545564193334812497256"), combinatorics.binomial(100, 50));
+    }
+
+    @Test
+    void largeBinomialMatchesFactorials() {
+        BinarySplitFactorial factorial = new BinarySplitFactorial();
+        BigInteger half = factorial.compute(50_000);
+        assertEquals(factorial.compute(100_000).divide(half.multiply(half)), combinatorics.binomial(100_000, 50_000));
+    }
+
+    @Test
+    void binomialOutOfRangeIsZero() {
+        assertEquals(BigInteger.ZERO, combinatorics.binomial(5, -1));
+        assertEquals(BigInteger.ZERO, combinatorics.binomial(5, 6));
+    }
+
+    @Test
+    void multinomials() {
+        assertEquals(BigInteger.valueOf(1260), combinatorics.multinomial(2, 3, 4));
+        assertEquals(BigInteger.ONE, combinatorics.multinomial());
+        assertEquals(combinatorics.binomial(70, 30), combinatorics.multinomial(30, 40));
+    }
+
+    @Test
+    void pascalRowOfTen() {
+        long[] expected = {1, 10, 45, 120, 210, 252, 210, 120, 45, 10, 1};
+        BigInteger[] row = combinatorics.pascalRow(10);
+        assertEquals(expected.length, row.length);
+        for (int k = 0; k < expected.length; k++) {
+            assertEquals(BigInteger.valueOf(expected[k]), row[k]);
+        }
+    }
+
+    @Test
+    void pascalRowsStreamedInPlace() {
+        long[] row = new long[68];
+        BigInteger[] bigRow = new BigInteger[68];
+        row[0] = 1;
+        bigRow[0] = BigInteger.ONE;
+        for (int n = 0; n < 66; n++) {
+            combinatorics.nextPascalRow(row, n);
+            combinatorics.nextPascalRow(bigRow, n);
+        }
+        BigInteger[] expected = combinatorics.pascalRow(66);
+        for (int k = 0; k <= 66; k++) {
+            assertEquals(expected[k], BigInteger.valueOf(row[k]), "C(66, " + k + ")");
+            assertEquals(expected[k], bigRow[k], "C(66, " + k + ")");
+        }
+        assertThrows(ArithmeticException.class, () -> combinatorics.nextPascalRow(row, 66));
+    }
+
+    @Test
+    void negativeArgumentsAreErrors() {
+        assertThrows(NegativeValueException.class, () -> combinatorics.binomial(-1, 0));
+        assertThrows(NegativeValueException.class, () -> combinatorics.multinomial(3, -1));
+    }
+}
@@ -0,0 +1,96 @@
+package org.mps.garoda.factorial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h2>Test cases</h2>
+ * <ol>
+ *     <li>cached factorial n -> the same value as the naive loop, for every n up to 300</li>
+ *     <li>cached factorial 20 -> taken from the table, without hits or misses</li>
+ *     <li>cached factorials 150 and 170 with stride 100 -> one miss, then one hit</li>
+ *     <li>cached factorial 250 after 150 -> multiplies forward from checkpoint 100 and keeps checkpoint 200</li>
+ *     <li>cached factorials over a tiny budget -> the least recently used checkpoints are evicted</li>
+ *     <li>cached factorials after evictions -> every miss starts from a checkpoint still cached</li>
+ *     <li>cached factorial -2 -> {@link NegativeValueException}</li>
+ *     <li>stride or budget 0 -> {@link IllegalArgumentException}</li>
+ * </ol>
+ */
+class FactorialCacheTest {
+
+    private FactorialCache cache;
+
+    @BeforeEach
+    void setup() {
+        cache = new FactorialCache(100, 1 << 20);
+    }
+
+    @Test
+    void cachedFactorialMatchesNaiveLoop() {
+        Factorial naive = new Factorial();
+        for (int n = 0; n <= 300; n++) {
+            assertEquals(naive.computeBigValue(n), cache.compute(n), "factorial of " + n);
+        }
+    }
+
+    @Test
+    void smallFactorialComesFromTable() {
+        assertEquals(BigInteger.valueOf(2432902008176640000L), cache.compute(20));
+        assertEquals(0, cache.hits());
+        assertEquals(0, cache.misses());
+    }
+
+    @Test
+    void nearbyFactorialHitsCheckpoint() {
+        cache.compute(150);
+        cache.compute(170);
+        assertEquals(1, cache.misses());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void missStartsFromClosestCheckpointBelow() {
+        cache.compute(150);
+        assertEquals(new BinarySplitFactorial().compute(250), cache.compute(250));
+        cache.compute(299);
+        assertEquals(2, cache.misses());
+        assertEquals(1, cache.hits());
+    }
+
+    @Test
+    void leastRecentlyUsedCheckpointsAreEvicted() {
+        FactorialCache tiny = new FactorialCache(10, 400);
+        for (int n = 30; n <= 100; n += 10) {
+            tiny.compute(n);
+        }
+        assertTrue(tiny.evictions() > 0);
+        assertTrue(tiny.sizeInBytes() <= 400);
+        assertEquals(new BinarySplitFactorial().compute(35), tiny.compute(35));
+    }
+
+    @Test
+    void missAfterEvictionsStartsFromCachedCheckpoint() {
+        FactorialCache tiny = new FactorialCache(1, 2_000);
+        BinarySplitFactorial reference = new BinarySplitFactorial();
+        for (int n = 21; n <= 400; n += 7) {
+            assertEquals(reference.compute(n), tiny.compute(n), "factorial of " + n);
+        }
+        assertTrue(tiny.evictions() > 0);
+        assertEquals(reference.compute(1000), tiny.compute(1000));
+    }
+
+    @Test
+    void cachedFactorialOfNegativeIsError() {
+        assertThrows(NegativeValueException.class, () -> cache.compute(-2));
+    }
+
+    @Test
+    void nonPositiveStrideOrBudgetIsError() {
+        assertThrows(IllegalArgumentException.class, () -> new FactorialCache(0, 1024));
+        assertThrows(IllegalArgumentException.class, () -> new FactorialCache(10, 0));
+    }
+}
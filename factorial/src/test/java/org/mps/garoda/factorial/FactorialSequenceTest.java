@@ -0,0 +1,64 @@
+package org.mps.garoda.factorial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h2>Test cases</h2>
+ * <ol>
+ *     <li>sequence up to 5 -> 1 1 2 6 24 120</li>
+ *     <li>sequence up to 300 -> the same values as the naive loop</li>
+ *     <li>parallel sequence up to 3000 -> the same values, in order, as the sequential one</li>
+ *     <li>long sequence up to 20 -> the factorials as longs; up to 21 -> {@link ArithmeticException}</li>
+ *     <li>sequence up to -1 -> {@link NegativeValueException}</li>
+ * </ol>
+ */
+class FactorialSequenceTest {
+
+    private FactorialSequence sequence;
+
+    @BeforeEach
+    void setup() {
+        sequence = new FactorialSequence();
+    }
+
+    @Test
+    void sequenceUpToFive() {
+        assertEquals(List.of(1L, 1L, 2L, 6L, 24L, 120L), sequence.stream(5).map(BigInteger::longValueExact).toList());
+    }
+
+    @Test
+    void sequenceMatchesNaiveLoop() {
+        Factorial naive = new Factorial();
+        List<BigInteger> values = sequence.stream(300).toList();
+        assertEquals(301, values.size());
+        for (int n = 0; n <= 300; n++) {
+            assertEquals(naive.computeBigValue(n), values.get(n), "factorial of " + n);
+        }
+    }
+
+    @Test
+    void parallelSequenceMatchesSequential() {
+        List<BigInteger> sequential = sequence.stream(3000).toList();
+        List<BigInteger> parallel = sequence.stream(3000).parallel().toList();
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void longSequence() {
+        long[] values = sequence.longStream(20).toArray();
+        assertEquals(21, values.length);
+        assertEquals(2432902008176640000L, values[20]);
+        assertThrows(ArithmeticException.class, () -> sequence.longStream(21));
+    }
+
+    @Test
+    void sequenceOfNegativeIsError() {
+        assertThrows(NegativeValueException.class, () -> sequence.stream(-1));
+    }
+}
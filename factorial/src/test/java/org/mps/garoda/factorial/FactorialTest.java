@@ -5,7 +5,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+import java.math.BigInteger;
 import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,8 +18,16 @@ import static org.junit.jupiter.api.Assertions.*;
  *     <li>factorial 1 -> 1</li>
  *     <li>factorial 2 -> 2</li>
  *     <li>factorial 5 -> 120</li>
+ *     <li>factorial 12 -> 479001600</li>
  *     <li>factorial -2 -> {@link NegativeValueException}</li>
  *     <li>factorial 70 -> Timeout</li>
+ *     <li>big factorial 25 -> 15511210043330985984000000</li>
+ *     <li>parallel factorial n -> the same value as the sequential one, for small and large n</li>
+ *     <li>parallel factorial -2 -> {@link NegativeValueException}</li>
+ *     <li>exact long factorial 20 -> 2432902008176640000</li>
+ *     <li>exact long factorial 21 -> {@link ArithmeticException}</li>
+ *     <li>automatic factorial 20 -> the same {@link Long} instance on every call</li>
+ *     <li>automatic factorial 21 -> 51090942171709440000 as a {@link BigInteger}</li>
  * </ol>
  */
 @TestInstance(TestInstance.Lifecycle.PER_METHOD)
@@ -55,6 +65,11 @@ class FactorialTest {
         assertEquals(120, factorial.compute(5));
     }
 
+    @Test
+    void factorialOfTwelveIs479001600() {
+        assertEquals(479001600, factorial.compute(12));
+    }
+
     @Test
     void factorialOfNegativeIsError() {
         assertThrows(NegativeValueException.class, () -> factorial.compute(-2));
@@ -65,5 +80,48 @@ class FactorialTest {
         assertTimeout(Duration.ofMillis(2), () -> factorial.computeBigValue(70));
     }
 
+    @Test
+    void bigFactorialOf25() {
+        assertEquals(new BigInteger("15511210043330985984000000"), factorial.computeBigValue(25));
+    }
+
+    @Test
+    void parallelFactorialMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int n : new int[]{0, 1, 2, 25, 300}) {
+                assertEquals(factorial.computeBigValue(n), factorial.computeBigValueParallel(n, pool), "factorial of " + n);
+            }
+            assertEquals(new BinarySplitFactorial().compute(200_000), factorial.computeBigValueParallel(200_000, pool));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void parallelFactorialOfNegativeIsError() {
+        assertThrows(NegativeValueException.class, () -> factorial.computeBigValueParallel(-2, ForkJoinPool.commonPool()));
+    }
+
+    @Test
+    void exactLongFactorialOfTwenty() {
+        assertEquals(2432902008176640000L, factorial.computeExactLong(20));
+    }
+
+    @Test
+    void exactLongFactorialOfTwentyOneOverflows() {
+        assertThrows(ArithmeticException.class, () -> factorial.computeExactLong(21));
+    }
 
-}
\ No newline at end of file
+    @Test
+    void automaticFactorialOfTwentyIsSharedLong() {
+        Number first = factorial.computeAuto(20);
+        assertEquals(2432902008176640000L, first);
+        assertSame(first, factorial.computeAuto(20));
+    }
+
+    @Test
+    void automaticFactorialOfTwentyOneIsBigInteger() {
+        assertEquals(new BigInteger("51090942171709440000"), factorial.computeAuto(21));
+    }
+}
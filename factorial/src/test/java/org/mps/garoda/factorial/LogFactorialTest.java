@@ -0,0 +1,67 @@
+package org.mps.garoda.factorial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h2>Test cases</h2>
+ * <ol>
+ *     <li>log factorial 0 and 1 -> 0</li>
+ *     <li>log factorial n -> the logarithm of the exact factorial, for n around the end of the table and beyond</li>
+ *     <li>log factorial 10^9 -> 19723265848.2269826..., within the precision of a double</li>
+ *     <li>batch log factorials -> the same values as one at a time</li>
+ *     <li>log factorial -2 -> {@link NegativeValueException}</li>
+ * </ol>
+ */
+class LogFactorialTest {
+
+    private LogFactorial factorial;
+
+    @BeforeEach
+    void setup() {
+        factorial = new LogFactorial();
+    }
+
+    @Test
+    void logFactorialOfZeroAndOneIsZero() {
+        assertEquals(0.0, factorial.logFactorial(0));
+        assertEquals(0.0, factorial.logFactorial(1));
+    }
+
+    @Test
+    void logFactorialMatchesExactValue() {
+        BinarySplitFactorial exact = new BinarySplitFactorial();
+        for (int n : new int[]{10, 100, 255, 256, 257, 1000, 5000}) {
+            double expected = log(exact.compute(n));
+            assertEquals(expected, factorial.logFactorial(n), expected * 1e-14, "log of " + n + "!");
+        }
+    }
+
+    @Test
+    void logFactorialOfOneBillion() {
+        assertEquals(19_723_265_848.226_982_6, factorial.logFactorial(1_000_000_000L), 1e-5);
+    }
+
+    @Test
+    void batchMatchesOneAtATime() {
+        long[] numbers = {0, 7, 255, 256, 1_000_000, 123_456_789_012L};
+        double[] results = factorial.logFactorial(numbers);
+        for (int i = 0; i < numbers.length; i++) {
+            assertEquals(factorial.logFactorial(numbers[i]), results[i]);
+        }
+    }
+
+    @Test
+    void logFactorialOfNegativeIsError() {
+        assertThrows(NegativeValueException.class, () -> factorial.logFactorial(-2));
+    }
+
+    private static double log(BigInteger value) {
+        int shift = Math.max(0, value.bitLength() - 64);
+        return Math.log(value.shiftRight(shift).doubleValue()) + shift * Math.log(2);
+    }
+}
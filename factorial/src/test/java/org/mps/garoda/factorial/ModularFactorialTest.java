@@ -0,0 +1,89 @@
+package org.mps.garoda.factorial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h2>Test cases</h2>
+ * <ol>
+ *     <li>factorial n mod p -> the same value as the exact factorial, for every n up to 200 and small primes</li>
+ *     <li>factorial 100000 mod 1000000007 -> the same value as the exact factorial</li>
+ *     <li>factorial p - 1, p - 2 and p - 3 mod a large prime p -> p - 1, 1 and (p - 1) / 2 (Wilson)</li>
+ *     <li>factorial n mod p with n >= p -> 0</li>
+ *     <li>batch factorials mod p -> the same values as one at a time, in the original order</li>
+ *     <li>factorial mod 15 or mod 2^62 + 135 -> {@link IllegalArgumentException}</li>
+ *     <li>factorial -2 mod p -> {@link NegativeValueException}</li>
+ * </ol>
+ */
+class ModularFactorialTest {
+
+    private static final long LARGE_PRIME = 4_611_686_018_427_387_847L; // largest prime below 2^62
+
+    private ModularFactorial factorial;
+
+    @BeforeEach
+    void setup() {
+        factorial = new ModularFactorial();
+    }
+
+    @Test
+    void smallFactorialsMatchExactValue() {
+        Factorial exact = new Factorial();
+        for (long prime : new long[]{2, 3, 5, 7, 97, 101, 211}) {
+            for (int n = 0; n <= 200; n++) {
+                long expected = exact.computeBigValue(n).mod(BigInteger.valueOf(prime)).longValueExact();
+                assertEquals(expected, factorial.factorialMod(n, prime), n + "! mod " + prime);
+            }
+        }
+    }
+
+    @Test
+    void largeFactorialMatchesExactValue() {
+        long prime = 1_000_000_007L;
+        long expected = new BinarySplitFactorial().compute(100_000).mod(BigInteger.valueOf(prime)).longValueExact();
+        assertEquals(expected, factorial.factorialMod(100_000, prime));
+    }
+
+    @Test
+    void wilsonTheoremForLargePrime() {
+        assertEquals(LARGE_PRIME - 1, factorial.factorialMod(LARGE_PRIME - 1, LARGE_PRIME));
+        assertEquals(1, factorial.factorialMod(LARGE_PRIME - 2, LARGE_PRIME));
+        assertEquals((LARGE_PRIME - 1) / 2, factorial.factorialMod(LARGE_PRIME - 3, LARGE_PRIME));
+    }
+
+    @Test
+    void factorialOfPrimeOrMoreIsZero() {
+        assertEquals(0, factorial.factorialMod(101, 101));
+        assertEquals(0, factorial.factorialMod(5_000_000_000L, 1_000_000_007L));
+    }
+
+    @Test
+    void batchMatchesOneAtATime() {
+        long prime = 1_000_003L;
+        Random random = new Random(42);
+        long[] numbers = new long[1000];
+        for (int i = 0; i < numbers.length; i++) {
+            numbers[i] = random.nextInt(1_100_000);
+        }
+        long[] results = factorial.factorialMod(numbers, prime);
+        for (int i = 0; i < numbers.length; i += 97) {
+            assertEquals(factorial.factorialMod(numbers[i], prime), results[i], numbers[i] + "! mod " + prime);
+        }
+    }
+
+    @Test
+    void compositeOrTooLargeModulusIsError() {
+        assertThrows(IllegalArgumentException.class, () -> factorial.factorialMod(5, 15));
+        assertThrows(IllegalArgumentException.class, () -> factorial.factorialMod(5, (1L << 62) + 135));
+    }
+
+    @Test
+    void factorialOfNegativeIsError() {
+        assertThrows(NegativeValueException.class, () -> factorial.factorialMod(-2, 7));
+    }
+}
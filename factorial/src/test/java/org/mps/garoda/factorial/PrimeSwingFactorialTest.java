@@ -0,0 +1,64 @@
+package org.mps.garoda.factorial;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h2>Test cases</h2>
+ * <ol>
+ *     <li>factorial 0 -> 1</li>
+ *     <li>factorial 1 -> 1</li>
+ *     <li>factorial 25 -> 15511210043330985984000000</li>
+ *     <li>factorial n -> the same value as the naive loop, for every n up to 300</li>
+ *     <li>factorial 10000 -> 35660 digits, and no more trailing zeros than 2499</li>
+ *     <li>factorial -2 -> {@link NegativeValueException}</li>
+ * </ol>
+ */
+class PrimeSwingFactorialTest {
+
+    private PrimeSwingFactorial factorial;
+
+    @BeforeEach
+    void setup() {
+        factorial = new PrimeSwingFactorial();
+    }
+
+    @Test
+    void factorialOfZeroIsOne() {
+        assertEquals(BigInteger.ONE, factorial.compute(0));
+    }
+
+    @Test
+    void factorialOfOneIsOne() {
+        assertEquals(BigInteger.ONE, factorial.compute(1));
+    }
+
+    @Test
+    void factorialOf25() {
+        assertEquals(new BigInteger("15511210043330985984000000"), factorial.compute(25));
+    }
+
+    @Test
+    void factorialMatchesNaiveLoop() {
+        Factorial naive = new Factorial();
+        for (int n = 0; n <= 300; n++) {
+            assertEquals(naive.computeBigValue(n), factorial.compute(n), "factorial of " + n);
+        }
+    }
+
+    @Test
+    void factorialOf10000HasKnownShape() {
+        String digits = factorial.compute(10_000).toString();
+        assertEquals(35660, digits.length());
+        assertEquals(2499, digits.length() - digits.replaceAll("0+$", "").length());
+    }
+
+    @Test
+    void factorialOfNegativeIsError() {
+        assertThrows(NegativeValueException.class, () -> factorial.compute(-2));
+    }
+}
@@ -0,0 +1,33 @@
+package org.mps.garoda.factorial;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * <h2>Test cases</h2>
+ * <ol>
+ *     <li>primes up to 1 -> none</li>
+ *     <li>primes up to 30 -> 2, 3, 5, 7, 11, 13, 17, 19, 23, 29</li>
+ *     <li>primes up to 1000000 -> 78498 primes, the last one 999983</li>
+ * </ol>
+ */
+class PrimesTest {
+
+    @Test
+    void noPrimesUpToOne() {
+        assertEquals(0, Primes.upTo(1).length);
+    }
+
+    @Test
+    void primesUpTo30() {
+        assertArrayEquals(new int[]{2, 3, 5, 7, 11, 13, 17, 19, 23, 29}, Primes.upTo(30));
+    }
+
+    @Test
+    void primesUpToOneMillion() {
+        int[] primes = Primes.upTo(1_000_000);
+        assertEquals(78498, primes.length);
+        assertEquals(999983, primes[primes.length - 1]);
+    }
+}